@@ -3,6 +3,7 @@ package ru.practicum.shareit.booking;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
@@ -12,6 +13,7 @@ import ru.practicum.shareit.booking.dto.BookItemRequestDto;
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.util.concurrent.CompletableFuture;
 
 @Controller
 @RequestMapping(path = "/bookings")
@@ -23,44 +25,53 @@ public class BookingController {
     private final BookingClient bookingClient;
 
     @GetMapping
-    public ResponseEntity<Object> getBookings(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
+    public CompletableFuture<ResponseEntity<Object>> getBookings(
+            @RequestHeader("X-Sharer-User-Id") @Positive long userId,
             @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
             @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-            @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
-        log.info("Get booking with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
-        return bookingClient.getBookings(userId, stateParam, from, size);
+            @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+            @RequestParam(name = "cursor", required = false) String cursor) {
+        log.info("Get booking with state {}, userId={}, from={}, size={}, cursor={}", stateParam, userId, from, size,
+                cursor);
+        return bookingClient.getBookings(userId, stateParam, from, size, cursor);
     }
 
     @PostMapping
-    public ResponseEntity<Object> bookItem(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
-                                           @RequestBody @Valid BookItemRequestDto requestDto) {
+    public CompletableFuture<ResponseEntity<Object>> bookItem(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
+                                                              @RequestBody @Valid BookItemRequestDto requestDto) {
         log.info("Creating booking {}, userId={}", requestDto, userId);
         return bookingClient.bookItem(userId, requestDto);
     }
 
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> getBooking(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
-                                             @PathVariable @Positive Long bookingId) {
+    public CompletableFuture<ResponseEntity<Object>> getBooking(
+            @RequestHeader("X-Sharer-User-Id") @Positive long userId,
+            @PathVariable @Positive Long bookingId) {
         log.info("Get booking {}, userId={}", bookingId, userId);
         return bookingClient.getBooking(userId, bookingId);
     }
 
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> approveOrRejectBooking(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
-                                                         @PathVariable @Positive Long bookingId,
-                                                         @RequestParam(value = "approved") Boolean approved) {
-        log.info("Получен PATCH-запрос /bookings/{}?approved={} с userId={}", bookingId, approved, userId);
+    public CompletableFuture<ResponseEntity<Object>> approveOrRejectBooking(
+            @RequestHeader("X-Sharer-User-Id") @Positive long userId,
+            @PathVariable @Positive Long bookingId,
+            @RequestParam(value = "approved") Boolean approved,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.info("Получен PATCH-запрос /bookings/{}?approved={} с userId={} и If-Match={}", bookingId, approved, userId,
+                ifMatch);
 
-        return bookingClient.approveOrRejectBooking(userId, bookingId, approved);
+        return bookingClient.approveOrRejectBooking(userId, bookingId, approved, ifMatch);
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> getBookingsOwner(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
+    public CompletableFuture<ResponseEntity<Object>> getBookingsOwner(
+            @RequestHeader("X-Sharer-User-Id") @Positive long userId,
             @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
             @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-            @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
-        log.info("Получен GET-запрос /bookings/owner?state={}&from={}&size={} с userId={}", stateParam, userId, from,
-                size);
-        return bookingClient.getBookingsOwner(userId, stateParam, from, size);
+            @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+            @RequestParam(name = "cursor", required = false) String cursor) {
+        log.info("Получен GET-запрос /bookings/owner?state={}&from={}&size={}&cursor={} с userId={}", stateParam, from,
+                size, cursor, userId);
+        return bookingClient.getBookingsOwner(userId, stateParam, from, size, cursor);
     }
 }
@@ -0,0 +1,72 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+@Component
+public class RequestCoalescer {
+
+    private final Map<String, CompletableFuture<ResponseEntity<Object>>> requests = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final Duration window;
+
+    public RequestCoalescer(MeterRegistry meterRegistry,
+                            @Value("${shareit-server.coalescing.enabled:true}") boolean enabled,
+                            @Value("${shareit-server.coalescing.window:0ms}") Duration window) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.window = window;
+
+        Gauge.builder("shareit.gateway.requests.in-flight", requests, Map::size).register(meterRegistry);
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> execute(
+            String client, String key, Supplier<CompletableFuture<ResponseEntity<Object>>> request) {
+        if (!enabled) {
+            return request.get();
+        }
+
+        CompletableFuture<ResponseEntity<Object>> shared = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<Object>> existing = requests.putIfAbsent(key, shared);
+
+        if (existing != null) {
+            meterRegistry.counter("shareit.gateway.requests.coalesced", "client", client).increment();
+            return existing.copy();
+        }
+
+        CompletableFuture<ResponseEntity<Object>> response;
+        try {
+            response = request.get();
+        } catch (RuntimeException e) {
+            response = CompletableFuture.failedFuture(e);
+        }
+
+        response.whenComplete((result, error) -> {
+            if (error != null || window.isZero()) {
+                requests.remove(key, shared);
+            } else {
+                CompletableFuture.delayedExecutor(window.toMillis(), TimeUnit.MILLISECONDS)
+                        .execute(() -> requests.remove(key, shared));
+            }
+
+            if (error != null) {
+                shared.completeExceptionally(error);
+            } else {
+                shared.complete(result);
+            }
+        });
+
+        return shared.copy();
+    }
+}
@@ -0,0 +1,138 @@
+package ru.practicum.shareit.client;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+@Component
+public class ResiliencePolicy {
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final RetryRegistry retryRegistry;
+    private final TimeLimiterRegistry timeLimiterRegistry;
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService requestExecutor;
+    private final boolean enabled;
+
+    public ResiliencePolicy(CircuitBreakerRegistry circuitBreakerRegistry, BulkheadRegistry bulkheadRegistry,
+                            RetryRegistry retryRegistry, TimeLimiterRegistry timeLimiterRegistry,
+                            @Value("${shareit-server.resilience.enabled:true}") boolean enabled,
+                            @Value("${shareit-server.resilience.scheduler-threads:2}") int schedulerThreads,
+                            @Value("${shareit-server.resilience.request-threads:200}") int requestThreads,
+                            @Value("${shareit-server.resilience.request-queue-capacity:200}") int queueCapacity) {
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.bulkheadRegistry = bulkheadRegistry;
+        this.retryRegistry = retryRegistry;
+        this.timeLimiterRegistry = timeLimiterRegistry;
+        this.enabled = enabled;
+        this.scheduler = Executors.newScheduledThreadPool(schedulerThreads);
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(requestThreads, requestThreads, 60, TimeUnit.SECONDS,
+                queueCapacity > 0 ? new LinkedBlockingQueue<>(queueCapacity) : new SynchronousQueue<>(),
+                new CustomizableThreadFactory("shareit-server-client-"));
+
+        executor.allowCoreThreadTimeOut(true);
+        this.requestExecutor = executor;
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> executeBlocking(String client, boolean idempotent,
+            Supplier<ResponseEntity<Object>> request) {
+        if (!enabled) {
+            return CompletableFuture.completedFuture(request.get());
+        }
+
+        return execute(client, idempotent, () -> CompletableFuture.supplyAsync(request, requestExecutor));
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> execute(String client, boolean idempotent,
+            Supplier<CompletableFuture<ResponseEntity<Object>>> request) {
+        if (!enabled) {
+            return request.get();
+        }
+
+        Bulkhead bulkhead = bulkheadRegistry.bulkhead(client);
+        TimeLimiter timeLimiter = timeLimiterRegistry.timeLimiter(client);
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(client);
+
+        Supplier<CompletionStage<ResponseEntity<Object>>> bulkheadCall = Bulkhead.decorateCompletionStage(bulkhead,
+                () -> send(request));
+        Supplier<CompletionStage<ResponseEntity<Object>>> call = CircuitBreaker.decorateCompletionStage(
+                circuitBreaker, () -> timeLimiter.executeCompletionStage(scheduler, bulkheadCall));
+
+        if (idempotent) {
+            call = Retry.decorateCompletionStage(retryRegistry.retry(client), scheduler, call);
+        }
+
+        return call.get().toCompletableFuture().handle((response, error) -> {
+            if (error == null) {
+                return response;
+            }
+
+            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause() : error;
+
+            if (cause instanceof ServerErrorException) {
+                return ((ServerErrorException) cause).getResponse();
+            }
+            throw new CompletionException(cause);
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        requestExecutor.shutdownNow();
+    }
+
+    private static CompletableFuture<ResponseEntity<Object>> send(
+            Supplier<CompletableFuture<ResponseEntity<Object>>> request) {
+        CompletableFuture<ResponseEntity<Object>> response;
+        try {
+            response = request.get();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        return response.thenApply(result -> {
+            if (result.getStatusCodeValue() >= 500) {
+                throw new ServerErrorException(result);
+            }
+            return result;
+        });
+    }
+
+    @Getter
+    private static class ServerErrorException extends RuntimeException {
+
+        private final transient ResponseEntity<Object> response;
+
+        ServerErrorException(ResponseEntity<Object> response) {
+            super("Сервер вернул статус " + response.getStatusCodeValue(), null, false, false);
+            this.response = response;
+        }
+    }
+}
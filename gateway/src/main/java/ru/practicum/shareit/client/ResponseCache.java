@@ -0,0 +1,117 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+@Component
+public class ResponseCache {
+
+    private final Map<String, CachedResponse> responses;
+    private final Map<String, Set<String>> keysByResource = new HashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+
+    public ResponseCache(MeterRegistry meterRegistry,
+                         @Value("${shareit-server.cache.enabled:true}") boolean enabled,
+                         @Value("${shareit-server.cache.max-entries:10000}") int maxEntries) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.responses = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                if (size() <= maxEntries) return false;
+
+                unindex(eldest.getKey(), eldest.getValue().getResource());
+                return true;
+            }
+        });
+
+        Gauge.builder("shareit.gateway.cache.size", responses, Map::size).register(meterRegistry);
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> execute(String client, String resource, String key,
+            Function<String, CompletableFuture<ResponseEntity<Object>>> request) {
+        if (!enabled) {
+            return request.apply(null);
+        }
+
+        CachedResponse cached = responses.get(key);
+        String entityTag = cached != null ? cached.getResponse().getHeaders().getETag() : null;
+
+        return request.apply(entityTag).thenApply(response -> {
+            if (cached != null && response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+                meterRegistry.counter("shareit.gateway.cache.requests", "client", client, "result", "hit")
+                        .increment();
+                return cached.getResponse();
+            }
+
+            meterRegistry.counter("shareit.gateway.cache.requests", "client", client, "result", "miss").increment();
+
+            if (response.getStatusCode() == HttpStatus.OK && response.getHeaders().getETag() != null) {
+                store(key, new CachedResponse(resource, response));
+            } else {
+                remove(key);
+            }
+
+            return response;
+        });
+    }
+
+    public void invalidate(String resource) {
+        synchronized (responses) {
+            Set<String> keys = keysByResource.remove(resource);
+
+            if (keys != null) keys.forEach(responses::remove);
+        }
+    }
+
+    private void store(String key, CachedResponse cached) {
+        synchronized (responses) {
+            CachedResponse previous = responses.put(key, cached);
+
+            if (previous != null) unindex(key, previous.getResource());
+            keysByResource.computeIfAbsent(cached.getResource(), resource -> new HashSet<>()).add(key);
+        }
+    }
+
+    private void remove(String key) {
+        synchronized (responses) {
+            CachedResponse removed = responses.remove(key);
+
+            if (removed != null) unindex(key, removed.getResource());
+        }
+    }
+
+    private void unindex(String key, String resource) {
+        Set<String> keys = keysByResource.get(resource);
+
+        if (keys == null) return;
+
+        keys.remove(key);
+        if (keys.isEmpty()) keysByResource.remove(resource);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class CachedResponse {
+
+        private final String resource;
+
+        private final ResponseEntity<Object> response;
+    }
+}
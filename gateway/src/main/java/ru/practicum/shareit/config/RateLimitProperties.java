@@ -0,0 +1,38 @@
+package ru.practicum.shareit.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    private Limit defaultLimit = new Limit();
+
+    private Map<String, Limit> endpoints = new HashMap<>();
+
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    private int maxBuckets = 100_000;
+
+    public Limit getLimit(String endpoint) {
+        return endpoints.getOrDefault(endpoint, defaultLimit);
+    }
+
+    @Getter
+    @Setter
+    public static class Limit {
+
+        private long capacity = 100;
+
+        private double refillPerSecond = 50;
+    }
+}
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.coyote.AbstractProtocol;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "shareit.threads", name = "virtual", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<AbstractProtocol<?>> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> {
+            if (!protocolHandler.setProperty("useVirtualThreads", "true"))
+                throw new IllegalStateException("Коннектор Tomcat не поддерживает виртуальные потоки");
+
+            log.info("Обработка HTTP-запросов переведена на виртуальные потоки Tomcat");
+        };
+    }
+}
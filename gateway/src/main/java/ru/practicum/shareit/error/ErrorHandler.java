@@ -0,0 +1,66 @@
+package ru.practicum.shareit.error;
+
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import ru.practicum.shareit.error.model.ErrorResponse;
+import ru.practicum.shareit.exception.RateLimitExceededException;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+
+@RestControllerAdvice
+@Slf4j
+public class ErrorHandler {
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponse handleCallNotPermittedException(final CallNotPermittedException e) {
+        log.warn("Запрос к серверу отклонён: {}", e.getMessage());
+        return new ErrorResponse("Сервер временно недоступен");
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponse handleBulkheadFullException(final BulkheadFullException e) {
+        log.warn("Запрос к серверу отклонён: {}", e.getMessage());
+        return new ErrorResponse("Слишком много одновременных запросов к серверу");
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponse handleRejectedExecutionException(final RejectedExecutionException e) {
+        log.warn("Запрос к серверу отклонён: {}", e.getMessage());
+        return new ErrorResponse("Все потоки обращения к серверу заняты");
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.GATEWAY_TIMEOUT)
+    public ErrorResponse handleTimeoutException(final TimeoutException e) {
+        log.warn("Сервер не ответил вовремя: {}", e.getMessage());
+        return new ErrorResponse("Сервер не ответил вовремя");
+    }
+
+    @ExceptionHandler({ResourceAccessException.class, WebClientRequestException.class})
+    @ResponseStatus(HttpStatus.BAD_GATEWAY)
+    public ErrorResponse handleServerUnreachable(final RuntimeException e) {
+        log.warn("Сервер недоступен: {}", e.getMessage());
+        return new ErrorResponse("Сервер недоступен");
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<ErrorResponse> handleRateLimitExceededException(final RateLimitExceededException e) {
+        log.warn("Запрос отклонён: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(new ErrorResponse(e.getMessage()));
+    }
+}
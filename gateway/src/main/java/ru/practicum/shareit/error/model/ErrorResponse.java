@@ -0,0 +1,11 @@
+package ru.practicum.shareit.error.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class ErrorResponse {
+
+    private final String error;
+}
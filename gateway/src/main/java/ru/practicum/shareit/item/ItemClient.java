@@ -4,61 +4,114 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ClientMode;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResiliencePolicy;
+import ru.practicum.shareit.client.ResponseCache;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoReq;
+import ru.practicum.shareit.request.ItemRequestClient;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class ItemClient extends BaseClient {
 
     private static final String API_PREFIX = "/items";
+    private static final String CACHE_RESOURCE = "items/";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl,
+                      @Value("${shareit-server.client-mode:blocking}") ClientMode clientMode,
+                      RestTemplateBuilder builder, WebClient.Builder webClientBuilder,
+                      RequestCoalescer requestCoalescer, ResponseCache responseCache,
+                      ResiliencePolicy resiliencePolicy) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .build(),
+                clientMode == ClientMode.ASYNC ? webClientBuilder.baseUrl(serverUrl + API_PREFIX).build() : null,
+                requestCoalescer,
+                responseCache,
+                resiliencePolicy
         );
     }
 
-    public ResponseEntity<Object> createItem(long userId, ItemDtoReq itemDtoReq) {
-        return post("", userId, itemDtoReq);
+    public CompletableFuture<ResponseEntity<Object>> createItem(long userId, ItemDtoReq itemDtoReq) {
+        CompletableFuture<ResponseEntity<Object>> response = post("", userId, itemDtoReq);
+
+        return itemDtoReq.getRequestId() != null ? evictAfter(response, ItemRequestClient.CACHE_RESOURCE) : response;
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> getItem(long userId, long itemId) {
+        return getCached(CACHE_RESOURCE + itemId, "/" + itemId, userId, null);
     }
 
-    public ResponseEntity<Object> getItem(long userId, long itemId) {
-        return get("/" + itemId, userId);
+    public CompletableFuture<ResponseEntity<Object>> getItemAvailability(long userId, long itemId,
+                                                                         @Nullable LocalDateTime from,
+                                                                         @Nullable LocalDateTime to) {
+        Map<String, Object> parameters = new HashMap<>();
+        StringBuilder path = new StringBuilder("/" + itemId + "/availability");
+        String separator = "?";
+
+        if (from != null) {
+            parameters.put("from", from);
+            path.append(separator).append("from={from}");
+            separator = "&";
+        }
+        if (to != null) {
+            parameters.put("to", to);
+            path.append(separator).append("to={to}");
+        }
+        return get(path.toString(), userId, parameters);
     }
 
-    public ResponseEntity<Object> findItemsByUser(long userId, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
+    public CompletableFuture<ResponseEntity<Object>> findItemsByUser(long userId, Integer from, Integer size,
+                                                                     @Nullable String cursor) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "from", from,
                 "size", size
-        );
-        return get("?from={from}&size={size}", userId, parameters);
+        ));
+        String path = "?from={from}&size={size}";
+
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+            path += "&cursor={cursor}";
+        }
+        return get(path, userId, parameters);
     }
 
-    public ResponseEntity<Object> findItemsByText(long userId, String text, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
+    public CompletableFuture<ResponseEntity<Object>> findItemsByText(long userId, String text, Integer from,
+                                                                     Integer size, @Nullable String cursor) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "text", text,
                 "from", from,
                 "size", size
-        );
-        return get("/search?text={text}&from={from}&size={size}", userId, parameters);
+        ));
+        String path = "/search?text={text}&from={from}&size={size}";
+
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+            path += "&cursor={cursor}";
+        }
+        return get(path, userId, parameters);
     }
 
-    public ResponseEntity<Object> updateItem(long userId, long itemId, ItemDto itemDto) {
-        return patch("/" + itemId, userId, itemDto);
+    public CompletableFuture<ResponseEntity<Object>> updateItem(long userId, long itemId, ItemDto itemDto,
+                                                                @Nullable String ifMatch) {
+        return evictAfter(patch("/" + itemId, userId, null, itemDto, ifMatch), CACHE_RESOURCE + itemId);
     }
 
-    public ResponseEntity<Object> addComment(long userId, long itemId, CommentDto commentDto) {
-        return post("/" + itemId + "/comment", userId, commentDto);
+    public CompletableFuture<ResponseEntity<Object>> addComment(long userId, long itemId, CommentDto commentDto) {
+        return evictAfter(post("/" + itemId + "/comment", userId, commentDto), CACHE_RESOURCE + itemId);
     }
 }
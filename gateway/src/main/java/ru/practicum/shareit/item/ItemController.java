@@ -2,6 +2,8 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
@@ -12,6 +14,8 @@ import ru.practicum.shareit.item.dto.ItemDtoReq;
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @Validated
@@ -23,53 +27,75 @@ public class ItemController {
     private final ItemClient itemClient;
 
     @PostMapping
-    public ResponseEntity<Object> addItem(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
-                                          @Valid @RequestBody ItemDtoReq itemDtoReq) {
+    public CompletableFuture<ResponseEntity<Object>> addItem(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
+                                                             @Valid @RequestBody ItemDtoReq itemDtoReq) {
         log.info("Получен POST-запрос /items с телом={} и userId={}", itemDtoReq, userId);
 
         return itemClient.createItem(userId, itemDtoReq);
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> getItem(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
-                                          @PathVariable @Positive long itemId) {
+    public CompletableFuture<ResponseEntity<Object>> getItem(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
+                                                             @PathVariable @Positive long itemId) {
         log.info("Получен GET-запрос /items/{} с userId={}", itemId, userId);
 
         return itemClient.getItem(userId, itemId);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public CompletableFuture<ResponseEntity<Object>> getItemAvailability(
+            @RequestHeader("X-Sharer-User-Id") @Positive long userId,
+            @PathVariable @Positive long itemId,
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            LocalDateTime from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            LocalDateTime to) {
+        log.info("Получен GET-запрос /items/{}/availability?from={}&to={} с userId={}", itemId, from, to, userId);
+
+        return itemClient.getItemAvailability(userId, itemId, from, to);
+    }
+
     @GetMapping
-    public ResponseEntity<Object> findItemsByUser(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
+    public CompletableFuture<ResponseEntity<Object>> findItemsByUser(
+            @RequestHeader("X-Sharer-User-Id") @Positive long userId,
             @RequestParam(name = "from", defaultValue = "0") @PositiveOrZero Integer from,
-            @RequestParam(name = "size", defaultValue = "10") @Positive Integer size) {
-        log.info("Получен GET-запрос /items?from={}&size={} с userId={}", from, size, userId);
+            @RequestParam(name = "size", defaultValue = "10") @Positive Integer size,
+            @RequestParam(name = "cursor", required = false) String cursor) {
+        log.info("Получен GET-запрос /items?from={}&size={}&cursor={} с userId={}", from, size, cursor, userId);
 
-        return itemClient.findItemsByUser(userId, from, size);
+        return itemClient.findItemsByUser(userId, from, size, cursor);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> searchItems(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
+    public CompletableFuture<ResponseEntity<Object>> searchItems(
+            @RequestHeader("X-Sharer-User-Id") @Positive long userId,
             @RequestParam String text,
             @RequestParam(name = "from", defaultValue = "0") @PositiveOrZero Integer from,
-            @RequestParam(name = "size", defaultValue = "10") @Positive Integer size) {
-        log.info("Получен GET-запрос /items/search?text={}&from={}&size={} с userId={}", text, from, size, userId);
+            @RequestParam(name = "size", defaultValue = "10") @Positive Integer size,
+            @RequestParam(name = "cursor", required = false) String cursor) {
+        log.info("Получен GET-запрос /items/search?text={}&from={}&size={}&cursor={} с userId={}", text, from, size,
+                cursor, userId);
 
-        return itemClient.findItemsByText(userId, text, from, size);
+        return itemClient.findItemsByText(userId, text, from, size, cursor);
     }
 
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> editItem(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
-                                           @PathVariable @Positive long itemId,
-                                           @RequestBody ItemDto itemDto) {
-        log.info("Получен PATCH-запрос /items/{} с телом={} и userId={}", itemId, itemDto, userId);
-
-        return itemClient.updateItem(userId, itemId, itemDto);
+    public CompletableFuture<ResponseEntity<Object>> editItem(
+            @RequestHeader("X-Sharer-User-Id") @Positive long userId,
+            @PathVariable @Positive long itemId,
+            @RequestBody ItemDto itemDto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.info("Получен PATCH-запрос /items/{} с телом={}, userId={} и If-Match={}", itemId, itemDto, userId,
+                ifMatch);
+
+        return itemClient.updateItem(userId, itemId, itemDto, ifMatch);
     }
 
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> addComment(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
-                                             @PathVariable @Positive long itemId,
-                                             @Valid @RequestBody CommentDto commentDto) {
+    public CompletableFuture<ResponseEntity<Object>> addComment(
+            @RequestHeader("X-Sharer-User-Id") @Positive long userId,
+            @PathVariable @Positive long itemId,
+            @Valid @RequestBody CommentDto commentDto) {
         log.info("Получен POST-запрос /items/{}/comment с телом={} и userId={}", itemId, commentDto, userId);
 
         return itemClient.addComment(userId, itemId, commentDto);
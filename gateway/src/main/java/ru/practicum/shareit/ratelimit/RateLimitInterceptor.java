@@ -0,0 +1,50 @@
+package ru.practicum.shareit.ratelimit;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import ru.practicum.shareit.exception.RateLimitExceededException;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private final UserRateLimiter userRateLimiter;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Object endpoint = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+
+        if (request.getDispatcherType() != DispatcherType.REQUEST || endpoint == null) {
+            return true;
+        }
+
+        long retryAfter = userRateLimiter.tryAcquire(endpoint.toString(), clientKey(request));
+
+        if (retryAfter > 0) {
+            throw new RateLimitExceededException("Превышен лимит запросов к " + endpoint,
+                    (long) Math.ceil((double) retryAfter / TimeUnit.SECONDS.toNanos(1)));
+        }
+        return true;
+    }
+
+    private static String clientKey(HttpServletRequest request) {
+        String userId = request.getHeader("X-Sharer-User-Id");
+
+        if (userId != null) {
+            try {
+                long id = Long.parseLong(userId.trim());
+
+                if (id > 0) return String.valueOf(id);
+            } catch (NumberFormatException ignored) {
+            }
+        }
+        return request.getRemoteAddr();
+    }
+}
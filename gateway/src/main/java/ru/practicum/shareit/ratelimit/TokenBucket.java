@@ -0,0 +1,50 @@
+package ru.practicum.shareit.ratelimit;
+
+import lombok.AllArgsConstructor;
+import ru.practicum.shareit.config.RateLimitProperties;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+class TokenBucket {
+
+    private final long capacity;
+    private final double nanosPerToken;
+    private final AtomicReference<State> state;
+
+    TokenBucket(RateLimitProperties.Limit limit, long now) {
+        this.capacity = limit.getCapacity();
+        this.nanosPerToken = TimeUnit.SECONDS.toNanos(1) / limit.getRefillPerSecond();
+        this.state = new AtomicReference<>(new State(capacity, now));
+    }
+
+    long tryConsume(long now) {
+        while (true) {
+            State current = state.get();
+            long timestamp = Math.max(now, current.timestamp);
+            double tokens = Math.min(capacity, current.tokens + (timestamp - current.timestamp) / nanosPerToken);
+
+            if (tokens < 1) {
+                return (long) Math.ceil((1 - tokens) * nanosPerToken);
+            }
+            if (state.compareAndSet(current, new State(tokens - 1, timestamp))) {
+                return 0;
+            }
+        }
+    }
+
+    boolean isIdle(long now, long idleTimeout) {
+        State current = state.get();
+        long refillTime = (long) Math.ceil((capacity - current.tokens) * nanosPerToken);
+
+        return now - current.timestamp >= Math.max(idleTimeout, refillTime);
+    }
+
+    @AllArgsConstructor
+    private static class State {
+
+        private final double tokens;
+
+        private final long timestamp;
+    }
+}
@@ -0,0 +1,85 @@
+package ru.practicum.shareit.ratelimit;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.config.RateLimitProperties;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+@Component
+public class UserRateLimiter {
+
+    private static final String OVERFLOW_KEY = "*";
+
+    private static final long FORCED_EVICTION_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier clock;
+    private final long idleTimeout;
+    private final AtomicLong nextEviction;
+    private final AtomicLong nextForcedEviction;
+
+    @Autowired
+    public UserRateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::nanoTime);
+    }
+
+    UserRateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry, LongSupplier clock) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        this.idleTimeout = properties.getIdleTimeout().toNanos();
+        this.nextEviction = new AtomicLong(clock.getAsLong() + idleTimeout);
+        this.nextForcedEviction = new AtomicLong(clock.getAsLong());
+
+        Gauge.builder("shareit.gateway.rate-limit.buckets", buckets, Map::size).register(meterRegistry);
+    }
+
+    public long tryAcquire(String endpoint, String key) {
+        if (!properties.isEnabled()) {
+            return 0;
+        }
+
+        long now = clock.getAsLong();
+        String bucketKey = endpoint + " " + key;
+        TokenBucket bucket = buckets.get(bucketKey);
+
+        evictIdleBuckets(now, bucket == null && buckets.size() >= properties.getMaxBuckets());
+
+        if (bucket == null) {
+            if (buckets.size() >= properties.getMaxBuckets()) {
+                meterRegistry.counter("shareit.gateway.rate-limit.overflow", "endpoint", endpoint).increment();
+                bucketKey = endpoint + " " + OVERFLOW_KEY;
+            }
+            bucket = buckets.computeIfAbsent(bucketKey, k -> new TokenBucket(properties.getLimit(endpoint), now));
+        }
+
+        long retryAfter = bucket.tryConsume(now);
+
+        if (retryAfter > 0) {
+            meterRegistry.counter("shareit.gateway.rate-limit.rejected", "endpoint", endpoint).increment();
+        }
+        return retryAfter;
+    }
+
+    private void evictIdleBuckets(long now, boolean force) {
+        if (isDue(nextEviction, now, idleTimeout)
+                || force && isDue(nextForcedEviction, now, FORCED_EVICTION_INTERVAL)) {
+            buckets.values().removeIf(bucket -> bucket.isIdle(now, idleTimeout));
+        }
+    }
+
+    private static boolean isDue(AtomicLong nextTime, long now, long interval) {
+        long time = nextTime.get();
+
+        return now - time >= 0 && nextTime.compareAndSet(time, now + interval);
+    }
+}
@@ -4,38 +4,53 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ClientMode;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResiliencePolicy;
+import ru.practicum.shareit.client.ResponseCache;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class ItemRequestClient extends BaseClient {
 
+    public static final String CACHE_RESOURCE = "requests";
+
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl,
+                             @Value("${shareit-server.client-mode:blocking}") ClientMode clientMode,
+                             RestTemplateBuilder builder, WebClient.Builder webClientBuilder,
+                             RequestCoalescer requestCoalescer, ResponseCache responseCache,
+                             ResiliencePolicy resiliencePolicy) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .build(),
+                clientMode == ClientMode.ASYNC ? webClientBuilder.baseUrl(serverUrl + API_PREFIX).build() : null,
+                requestCoalescer,
+                responseCache,
+                resiliencePolicy
         );
     }
 
-    public ResponseEntity<Object> addRequest(long userId, ItemRequestDto itemRequestDto) {
-        return post("", userId, itemRequestDto);
+    public CompletableFuture<ResponseEntity<Object>> addRequest(long userId, ItemRequestDto itemRequestDto) {
+        return evictAfter(post("", userId, itemRequestDto), CACHE_RESOURCE);
     }
 
-    public ResponseEntity<Object> findItemRequestsByUser(long userId) {
-        return get("", userId);
+    public CompletableFuture<ResponseEntity<Object>> findItemRequestsByUser(long userId) {
+        return getCached(CACHE_RESOURCE, "", userId, null);
     }
 
-    public ResponseEntity<Object> findItemRequestsByAnotherUser(long userId, Integer from, Integer size) {
+    public CompletableFuture<ResponseEntity<Object>> findItemRequestsByAnotherUser(long userId, Integer from,
+                                                                                   Integer size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -43,7 +58,7 @@ public class ItemRequestClient extends BaseClient {
         return get("/all?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getItemRequestById(long userId, long requestId) {
-        return get("/" + requestId, userId);
+    public CompletableFuture<ResponseEntity<Object>> getItemRequestById(long userId, long requestId) {
+        return getCached(CACHE_RESOURCE, "/" + requestId, userId, null);
     }
 }
@@ -10,6 +10,7 @@ import ru.practicum.shareit.request.dto.ItemRequestDto;
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @Validated
@@ -21,22 +22,24 @@ public class ItemRequestController {
     private final ItemRequestClient itemRequestClient;
 
     @PostMapping
-    public ResponseEntity<Object> addRequest(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
-                                             @Valid @RequestBody ItemRequestDto itemRequestDto) {
+    public CompletableFuture<ResponseEntity<Object>> addRequest(
+            @RequestHeader("X-Sharer-User-Id") @Positive long userId,
+            @Valid @RequestBody ItemRequestDto itemRequestDto) {
         log.info("Получен POST-запрос /requests с телом={} и userId={}", itemRequestDto, userId);
 
         return itemRequestClient.addRequest(userId, itemRequestDto);
     }
 
     @GetMapping
-    public ResponseEntity<Object> findItemRequestsByUser(@RequestHeader("X-Sharer-User-Id") @Positive long userId) {
+    public CompletableFuture<ResponseEntity<Object>> findItemRequestsByUser(
+            @RequestHeader("X-Sharer-User-Id") @Positive long userId) {
         log.info("Получен GET-запрос /requests с userId={}", userId);
 
         return itemRequestClient.findItemRequestsByUser(userId);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> findItemRequestsByAnotherUser(
+    public CompletableFuture<ResponseEntity<Object>> findItemRequestsByAnotherUser(
             @RequestHeader("X-Sharer-User-Id") @Positive long userId,
             @RequestParam(name = "from", defaultValue = "0", required = false) @PositiveOrZero Integer from,
             @RequestParam(name = "size", defaultValue = "10", required = false) @Positive Integer size) {
@@ -46,7 +49,7 @@ public class ItemRequestController {
     }
 
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> getItemRequestById(@PathVariable @Positive long requestId,
+    public CompletableFuture<ResponseEntity<Object>> getItemRequestById(@PathVariable @Positive long requestId,
             @RequestHeader("X-Sharer-User-Id") @Positive long userId) {
         log.info("Получен GET-запрос /requests/{} с userId={}", requestId, userId);
 
@@ -4,45 +4,61 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ClientMode;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResiliencePolicy;
+import ru.practicum.shareit.client.ResponseCache;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.util.concurrent.CompletableFuture;
+
 @Service
 public class UserClient  extends BaseClient {
 
     private static final String API_PREFIX = "/users";
+    private static final String CACHE_RESOURCE = "users/";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public UserClient(@Value("${shareit-server.url}") String serverUrl,
+                      @Value("${shareit-server.client-mode:blocking}") ClientMode clientMode,
+                      RestTemplateBuilder builder, WebClient.Builder webClientBuilder,
+                      RequestCoalescer requestCoalescer, ResponseCache responseCache,
+                      ResiliencePolicy resiliencePolicy) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .build(),
+                clientMode == ClientMode.ASYNC ? webClientBuilder.baseUrl(serverUrl + API_PREFIX).build() : null,
+                requestCoalescer,
+                responseCache,
+                resiliencePolicy
         );
     }
 
-    public ResponseEntity<Object> createUser(UserDto userDto) {
+    public CompletableFuture<ResponseEntity<Object>> createUser(UserDto userDto) {
         return post("", userDto);
     }
 
 
-    public ResponseEntity<Object> getUser(long userId) {
-        return get("/" + userId);
+    public CompletableFuture<ResponseEntity<Object>> getUser(long userId) {
+        return getCached(CACHE_RESOURCE + userId, "/" + userId, null, null);
     }
 
-    public ResponseEntity<Object> findAllUsers() {
+    public CompletableFuture<ResponseEntity<Object>> findAllUsers() {
         return get("");
     }
 
-    public ResponseEntity<Object> updateUser(long userId, UserDto userDto) {
-        return patch("/" + userId, userDto);
+    public CompletableFuture<ResponseEntity<Object>> updateUser(long userId, UserDto userDto,
+                                                                @Nullable String ifMatch) {
+        return evictAfter(patch("/" + userId, null, null, userDto, ifMatch), CACHE_RESOURCE + userId);
     }
 
-    public void deleteUser(long userId) {
-        delete("/" + userId);
+    public CompletableFuture<Void> deleteUser(long userId) {
+        return evictAfter(delete("/" + userId), CACHE_RESOURCE + userId).thenAccept(response -> { });
     }
 }
@@ -2,6 +2,7 @@ package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
@@ -10,6 +11,7 @@ import ru.practicum.shareit.user.dto.UpdateUserValidation;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import javax.validation.constraints.Positive;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @Validated
@@ -21,7 +23,7 @@ public class UserController {
     private final UserClient userClient;
 
     @PostMapping
-    public ResponseEntity<Object> createUser(
+    public CompletableFuture<ResponseEntity<Object>> createUser(
             @Validated(value = {CreateUserValidation.class}) @RequestBody UserDto userDto) {
         log.info("Получен POST-запрос /users с телом={}", userDto);
 
@@ -29,30 +31,31 @@ public class UserController {
     }
 
     @GetMapping("/{userId}")
-    public ResponseEntity<Object> getUser(@PathVariable @Positive long userId) {
+    public CompletableFuture<ResponseEntity<Object>> getUser(@PathVariable @Positive long userId) {
         log.info("Получен GET-запрос /users/{}", userId);
 
         return userClient.getUser(userId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> findAllUsers() {
+    public CompletableFuture<ResponseEntity<Object>> findAllUsers() {
         log.info("Получен GET-запрос /users");
 
         return userClient.findAllUsers();
     }
 
     @PatchMapping("/{userId}")
-    public ResponseEntity<Object> updateUser(@PathVariable @Positive long userId,
-                              @Validated(value = {UpdateUserValidation.class}) @RequestBody UserDto userDto) {
-        log.info("Получен PATCH-запрос /users/{} с телом={}", userId, userDto);
+    public CompletableFuture<ResponseEntity<Object>> updateUser(@PathVariable @Positive long userId,
+                              @Validated(value = {UpdateUserValidation.class}) @RequestBody UserDto userDto,
+                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.info("Получен PATCH-запрос /users/{} с телом={} и If-Match={}", userId, userDto, ifMatch);
 
-        return userClient.updateUser(userId, userDto);
+        return userClient.updateUser(userId, userDto, ifMatch);
     }
 
     @DeleteMapping("/{userId}")
-    public void deleteUser(@PathVariable @Positive long userId) {
+    public CompletableFuture<Void> deleteUser(@PathVariable @Positive long userId) {
         log.info("Получен DELETE-запрос /users/{}", userId);
-        userClient.deleteUser(userId);
+        return userClient.deleteUser(userId);
     }
 }
@@ -0,0 +1,155 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.test.web.client.match.MockRestRequestMatchers;
+import org.springframework.test.web.client.response.MockRestResponseCreators;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+public class BaseClientTest {
+
+    private static final String SERVER_URL = "http://localhost:9090/items";
+
+    @Test
+    void get_asyncModePassesBodyBytesAndSendsHeaders() {
+        List<ClientRequest> requests = new ArrayList<>();
+        WebClient webClient = WebClient.builder().baseUrl(SERVER_URL)
+                .exchangeFunction(request -> {
+                    requests.add(request);
+                    return Mono.just(ClientResponse.create(HttpStatus.OK)
+                            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                            .header(HttpHeaders.ETAG, "\"0\"")
+                            .body("{\"id\":1,\"name\":\"Дрель\"}").build());
+                }).build();
+        TestClient client = new TestClient(new RestTemplate(), webClient);
+
+        CompletableFuture<ResponseEntity<Object>> future = client.get("/search?text={text}", 1L,
+                Map.of("text", "дрель"));
+        ResponseEntity<Object> response = future.join();
+
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Assertions.assertArrayEquals("{\"id\":1,\"name\":\"Дрель\"}".getBytes(StandardCharsets.UTF_8),
+                (byte[]) response.getBody());
+        Assertions.assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        Assertions.assertEquals("\"0\"", response.getHeaders().getETag());
+        Assertions.assertEquals(1, requests.size());
+        Assertions.assertEquals(HttpMethod.GET, requests.get(0).method());
+        Assertions.assertEquals(SERVER_URL + "/search?text=%D0%B4%D1%80%D0%B5%D0%BB%D1%8C",
+                requests.get(0).url().toString());
+        Assertions.assertEquals("1", requests.get(0).headers().getFirst("X-Sharer-User-Id"));
+    }
+
+    @Test
+    void patch_asyncModeReturnsErrorBodyAsBytes() {
+        String error = "{\"error\":\"Вещь не найдена\"}";
+        WebClient webClient = WebClient.builder().baseUrl(SERVER_URL)
+                .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.NOT_FOUND)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .body(error).build()))
+                .build();
+        TestClient client = new TestClient(new RestTemplate(), webClient);
+
+        ResponseEntity<Object> response = client.patch("/1", 1L, null, Map.of("name", "Дрель"), "\"0\"").join();
+
+        Assertions.assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        Assertions.assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        Assertions.assertArrayEquals(error.getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody());
+    }
+
+    @Test
+    void post_blockingModePassesBodyBytesAndSelectedHeaders() {
+        RestTemplate restTemplate = new RestTemplate();
+        restTemplate.setUriTemplateHandler(new DefaultUriBuilderFactory(SERVER_URL));
+        MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+        String item = "{\"id\":1,\"name\":\"Дрель\"}";
+        HttpHeaders headers = new HttpHeaders();
+
+        headers.setETag("\"0\"");
+        headers.set(HttpHeaders.SET_COOKIE, "session=1");
+        server.expect(MockRestRequestMatchers.requestTo(SERVER_URL))
+                .andExpect(MockRestRequestMatchers.method(HttpMethod.POST))
+                .andRespond(MockRestResponseCreators.withStatus(HttpStatus.CREATED).headers(headers)
+                        .contentType(MediaType.APPLICATION_JSON).body(item));
+
+        ResponseEntity<Object> response = new TestClient(restTemplate, null).post("", 1L, Map.of("name", "Дрель"))
+                .join();
+
+        Assertions.assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        Assertions.assertArrayEquals(item.getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody());
+        Assertions.assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        Assertions.assertEquals("\"0\"", response.getHeaders().getETag());
+        Assertions.assertFalse(response.getHeaders().containsKey(HttpHeaders.SET_COOKIE));
+        server.verify();
+    }
+
+    @Test
+    void get_blockingModeReturnsCompletedFuture() {
+        RestTemplate restTemplate = new RestTemplate();
+        restTemplate.setUriTemplateHandler(new DefaultUriBuilderFactory(SERVER_URL));
+        MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+        String error = "{\"error\":\"Вещь не найдена\"}";
+
+        server.expect(MockRestRequestMatchers.requestTo(SERVER_URL + "/1"))
+                .andExpect(MockRestRequestMatchers.header("X-Sharer-User-Id", "1"))
+                .andRespond(MockRestResponseCreators.withStatus(HttpStatus.NOT_FOUND)
+                        .contentType(MediaType.APPLICATION_JSON).body(error));
+
+        CompletableFuture<ResponseEntity<Object>> future = new TestClient(restTemplate, null).get("/1", 1L);
+
+        Assertions.assertTrue(future.isDone());
+        Assertions.assertEquals(HttpStatus.NOT_FOUND, future.join().getStatusCode());
+        Assertions.assertArrayEquals(error.getBytes(StandardCharsets.UTF_8), (byte[]) future.join().getBody());
+        server.verify();
+    }
+
+    @Test
+    void get_passesNextCursorHeaderInBothModes() {
+        String cursor = "eyJpZCI6MX0";
+        WebClient webClient = WebClient.builder().baseUrl(SERVER_URL)
+                .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                        .header("X-Next-Cursor", cursor)
+                        .header(HttpHeaders.TRANSFER_ENCODING, "chunked")
+                        .body("[]").build()))
+                .build();
+        RestTemplate restTemplate = new RestTemplate();
+        restTemplate.setUriTemplateHandler(new DefaultUriBuilderFactory(SERVER_URL));
+        MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+        HttpHeaders headers = new HttpHeaders();
+
+        headers.set("X-Next-Cursor", cursor);
+        server.expect(MockRestRequestMatchers.requestTo(SERVER_URL))
+                .andRespond(MockRestResponseCreators.withSuccess("[]", MediaType.APPLICATION_JSON).headers(headers));
+
+        ResponseEntity<Object> asyncResponse = new TestClient(new RestTemplate(), webClient).get("", 1L).join();
+        ResponseEntity<Object> blockingResponse = new TestClient(restTemplate, null).get("", 1L).join();
+
+        Assertions.assertEquals(cursor, asyncResponse.getHeaders().getFirst("X-Next-Cursor"));
+        Assertions.assertFalse(asyncResponse.getHeaders().containsKey(HttpHeaders.TRANSFER_ENCODING));
+        Assertions.assertEquals(cursor, blockingResponse.getHeaders().getFirst("X-Next-Cursor"));
+        server.verify();
+    }
+
+    private static class TestClient extends BaseClient {
+
+        TestClient(RestTemplate rest, WebClient webClient) {
+            super(rest, webClient);
+        }
+    }
+}
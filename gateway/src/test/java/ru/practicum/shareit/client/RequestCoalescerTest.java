@@ -0,0 +1,89 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class RequestCoalescerTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private final CompletableFuture<ResponseEntity<Object>> upstream = new CompletableFuture<>();
+
+    @Test
+    void execute_sharesInFlightRequest() {
+        RequestCoalescer requestCoalescer = new RequestCoalescer(meterRegistry, true, Duration.ZERO);
+        ResponseEntity<Object> response = ResponseEntity.ok(new byte[]{1});
+
+        CompletableFuture<ResponseEntity<Object>> first = requestCoalescer.execute("ItemClient", "/1 1",
+                this::callUpstream);
+        CompletableFuture<ResponseEntity<Object>> second = requestCoalescer.execute("ItemClient", "/1 1",
+                this::callUpstream);
+
+        Assertions.assertFalse(second.isDone());
+        upstream.complete(response);
+
+        Assertions.assertSame(response, first.join());
+        Assertions.assertSame(response, second.join());
+        Assertions.assertEquals(1, upstreamCalls.get());
+        Assertions.assertEquals(1, meterRegistry.get("shareit.gateway.requests.coalesced").tag("client", "ItemClient")
+                .counter().count());
+        Assertions.assertEquals(0, meterRegistry.get("shareit.gateway.requests.in-flight").gauge().value());
+    }
+
+    @Test
+    void execute_doesNotShareRequestsWithDifferentKeys() {
+        RequestCoalescer requestCoalescer = new RequestCoalescer(meterRegistry, true, Duration.ZERO);
+
+        requestCoalescer.execute("ItemClient", "/1 1", this::callUpstream);
+        requestCoalescer.execute("ItemClient", "/1 2", this::callUpstream);
+
+        Assertions.assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void execute_reusesCompletedResponseWithinWindow() {
+        RequestCoalescer requestCoalescer = new RequestCoalescer(meterRegistry, true, Duration.ofMinutes(1));
+
+        upstream.complete(ResponseEntity.ok(new byte[]{1}));
+        requestCoalescer.execute("ItemClient", "/1 1", this::callUpstream).join();
+        requestCoalescer.execute("ItemClient", "/1 1", this::callUpstream).join();
+
+        Assertions.assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    void execute_doesNotKeepFailedRequest() {
+        RequestCoalescer requestCoalescer = new RequestCoalescer(meterRegistry, true, Duration.ofMinutes(1));
+
+        upstream.completeExceptionally(new IllegalStateException("Сервер недоступен"));
+
+        Assertions.assertThrows(CompletionException.class,
+                () -> requestCoalescer.execute("ItemClient", "/1 1", this::callUpstream).join());
+        Assertions.assertThrows(CompletionException.class,
+                () -> requestCoalescer.execute("ItemClient", "/1 1", this::callUpstream).join());
+        Assertions.assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void execute_disabledCallsUpstreamEveryTime() {
+        RequestCoalescer requestCoalescer = new RequestCoalescer(meterRegistry, false, Duration.ZERO);
+
+        requestCoalescer.execute("ItemClient", "/1 1", this::callUpstream);
+        requestCoalescer.execute("ItemClient", "/1 1", this::callUpstream);
+
+        Assertions.assertEquals(2, upstreamCalls.get());
+    }
+
+    private CompletableFuture<ResponseEntity<Object>> callUpstream() {
+        upstreamCalls.incrementAndGet();
+        return upstream;
+    }
+}
@@ -0,0 +1,167 @@
+package ru.practicum.shareit.client;
+
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ResiliencePolicyTest {
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private final CountDownLatch upstreamRelease = new CountDownLatch(1);
+    private final ResiliencePolicy resiliencePolicy = new ResiliencePolicy(
+            CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                    .slidingWindowSize(2)
+                    .minimumNumberOfCalls(2)
+                    .waitDurationInOpenState(Duration.ofMinutes(1))
+                    .build()),
+            BulkheadRegistry.of(BulkheadConfig.custom()
+                    .maxConcurrentCalls(1)
+                    .maxWaitDuration(Duration.ZERO)
+                    .build()),
+            RetryRegistry.of(RetryConfig.custom()
+                    .maxAttempts(3)
+                    .waitDuration(Duration.ofMillis(1))
+                    .ignoreExceptions(CallNotPermittedException.class, BulkheadFullException.class)
+                    .build()),
+            TimeLimiterRegistry.of(TimeLimiterConfig.custom()
+                    .timeoutDuration(Duration.ofMillis(100))
+                    .build()),
+            true, 1, 2, 0);
+
+    @AfterEach
+    void shutdown() {
+        upstreamRelease.countDown();
+        resiliencePolicy.shutdown();
+    }
+
+    @Test
+    void execute_retriesServerErrorsOfIdempotentRequest() {
+        ResponseEntity<Object> item = ResponseEntity.ok(new byte[]{1});
+
+        ResponseEntity<Object> response = resiliencePolicy.execute("ItemClient", true,
+                () -> upstreamCalls.incrementAndGet() < 2
+                        ? CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.BAD_GATEWAY).build())
+                        : CompletableFuture.completedFuture(item)).join();
+
+        Assertions.assertSame(item, response);
+        Assertions.assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void execute_doesNotRetryNonIdempotentRequest() {
+        ResponseEntity<Object> response = resiliencePolicy.execute("ItemClient", false, this::failWithServerError)
+                .join();
+
+        Assertions.assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+        Assertions.assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    void execute_failsFastWhenCircuitIsOpen() {
+        resiliencePolicy.execute("UserClient", false, this::failWithServerError).join();
+        resiliencePolicy.execute("UserClient", false, this::failWithServerError).join();
+
+        CompletionException e = Assertions.assertThrows(CompletionException.class,
+                () -> resiliencePolicy.execute("UserClient", true, this::failWithServerError).join());
+
+        Assertions.assertInstanceOf(CallNotPermittedException.class, e.getCause());
+        Assertions.assertEquals(2, upstreamCalls.get());
+        Assertions.assertEquals(ResponseEntity.ok().build(),
+                resiliencePolicy.execute("ItemClient", true,
+                        () -> CompletableFuture.completedFuture(ResponseEntity.ok().build())).join());
+    }
+
+    @Test
+    void execute_rejectsCallsOverBulkheadLimit() {
+        CompletableFuture<ResponseEntity<Object>> upstream = new CompletableFuture<>();
+
+        CompletableFuture<ResponseEntity<Object>> first = resiliencePolicy.execute("BookingClient", false,
+                () -> upstream);
+        CompletionException e = Assertions.assertThrows(CompletionException.class,
+                () -> resiliencePolicy.execute("BookingClient", true, () -> upstream).join());
+        upstream.complete(ResponseEntity.ok().build());
+
+        Assertions.assertInstanceOf(BulkheadFullException.class, e.getCause());
+        Assertions.assertEquals(HttpStatus.OK, first.join().getStatusCode());
+    }
+
+    @Test
+    void execute_timesOutSlowRequest() {
+        CompletionException e = Assertions.assertThrows(CompletionException.class,
+                () -> resiliencePolicy.execute("ItemRequestClient", false, CompletableFuture::new).join());
+
+        Assertions.assertInstanceOf(TimeoutException.class, e.getCause());
+    }
+
+    @Test
+    void executeBlocking_retriesOnRequestThreads() {
+        List<String> threads = new CopyOnWriteArrayList<>();
+
+        ResponseEntity<Object> response = resiliencePolicy.executeBlocking("ItemClient", true, () -> {
+            threads.add(Thread.currentThread().getName());
+            return upstreamCalls.incrementAndGet() < 2
+                    ? ResponseEntity.status(HttpStatus.BAD_GATEWAY).build()
+                    : ResponseEntity.ok().build();
+        }).join();
+
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Assertions.assertEquals(2, threads.size());
+        threads.forEach(thread -> Assertions.assertTrue(thread.startsWith("shareit-server-client-"), thread));
+    }
+
+    @Test
+    void executeBlocking_timesOutSlowRequest() {
+        CompletionException e = Assertions.assertThrows(CompletionException.class,
+                () -> resiliencePolicy.executeBlocking("ItemRequestClient", false, this::awaitRelease).join());
+
+        Assertions.assertInstanceOf(TimeoutException.class, e.getCause());
+    }
+
+    @Test
+    void executeBlocking_rejectsRequestWhenAllRequestThreadsAreBusy() {
+        resiliencePolicy.executeBlocking("ItemClient", false, this::awaitRelease);
+        resiliencePolicy.executeBlocking("UserClient", false, this::awaitRelease);
+
+        CompletionException e = Assertions.assertThrows(CompletionException.class,
+                () -> resiliencePolicy.executeBlocking("BookingClient", false, this::awaitRelease).join());
+
+        Assertions.assertInstanceOf(RejectedExecutionException.class, e.getCause());
+    }
+
+    private ResponseEntity<Object> awaitRelease() {
+        try {
+            upstreamRelease.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return ResponseEntity.ok().build();
+    }
+
+    private CompletableFuture<ResponseEntity<Object>> failWithServerError() {
+        upstreamCalls.incrementAndGet();
+        return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
+    }
+}
@@ -0,0 +1,129 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public class ResponseCacheTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<String> sentTags = new ArrayList<>();
+
+    @Test
+    void execute_revalidatesCachedResponse() {
+        ResponseCache responseCache = new ResponseCache(meterRegistry, true, 100);
+        ResponseEntity<Object> item = ResponseEntity.ok().eTag("0-a").body(new byte[]{1});
+
+        ResponseEntity<Object> first = responseCache.execute("ItemClient", "items/1", "/1 1",
+                tag -> respond(tag, item)).join();
+        ResponseEntity<Object> second = responseCache.execute("ItemClient", "items/1", "/1 1",
+                tag -> respond(tag, ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag("0-a").build())).join();
+
+        Assertions.assertSame(item, first);
+        Assertions.assertSame(item, second);
+        Assertions.assertEquals(Arrays.asList(null, "\"0-a\""), sentTags);
+        Assertions.assertEquals(1, meterRegistry.get("shareit.gateway.cache.requests").tag("result", "hit")
+                .counter().count());
+        Assertions.assertEquals(1, meterRegistry.get("shareit.gateway.cache.requests").tag("result", "miss")
+                .counter().count());
+    }
+
+    @Test
+    void execute_replacesChangedResponse() {
+        ResponseCache responseCache = new ResponseCache(meterRegistry, true, 100);
+        ResponseEntity<Object> changedItem = ResponseEntity.ok().eTag("1-b").body(new byte[]{2});
+
+        responseCache.execute("ItemClient", "items/1", "/1 1",
+                tag -> respond(tag, ResponseEntity.ok().eTag("0-a").body(new byte[]{1}))).join();
+        ResponseEntity<Object> response = responseCache.execute("ItemClient", "items/1", "/1 1",
+                tag -> respond(tag, changedItem)).join();
+        responseCache.execute("ItemClient", "items/1", "/1 1", tag -> respond(tag, changedItem)).join();
+
+        Assertions.assertSame(changedItem, response);
+        Assertions.assertEquals(Arrays.asList(null, "\"0-a\"", "\"1-b\""), sentTags);
+    }
+
+    @Test
+    void execute_doesNotCacheResponsesWithoutTagOrWithError() {
+        ResponseCache responseCache = new ResponseCache(meterRegistry, true, 100);
+
+        responseCache.execute("UserClient", "users/1", "/1", tag -> respond(tag, ResponseEntity.ok(new byte[]{1})))
+                .join();
+        responseCache.execute("UserClient", "users/1", "/1",
+                tag -> respond(tag, ResponseEntity.ok().eTag("0-a").body(new byte[]{1}))).join();
+        responseCache.execute("UserClient", "users/1", "/1",
+                tag -> respond(tag, ResponseEntity.status(HttpStatus.NOT_FOUND).build())).join();
+        responseCache.execute("UserClient", "users/1", "/1",
+                tag -> respond(tag, ResponseEntity.status(HttpStatus.NOT_FOUND).build())).join();
+
+        Assertions.assertEquals(Arrays.asList(null, null, "\"0-a\"", null), sentTags);
+    }
+
+    @Test
+    void invalidate_removesResponsesOfResource() {
+        ResponseCache responseCache = new ResponseCache(meterRegistry, true, 100);
+        ResponseEntity<Object> requests = ResponseEntity.ok().eTag("a").body(new byte[]{1});
+
+        responseCache.execute("ItemRequestClient", "requests", "/all 1", tag -> respond(tag, requests)).join();
+        responseCache.execute("ItemRequestClient", "requests", "/all 2", tag -> respond(tag, requests)).join();
+        responseCache.invalidate("requests");
+        responseCache.execute("ItemRequestClient", "requests", "/all 1", tag -> respond(tag, requests)).join();
+
+        Assertions.assertEquals(Arrays.asList(null, null, null), sentTags);
+    }
+
+    @Test
+    void invalidate_keepsResponsesOfOtherResources() {
+        ResponseCache responseCache = new ResponseCache(meterRegistry, true, 100);
+        ResponseEntity<Object> user = ResponseEntity.ok().eTag("0-a").body(new byte[]{1});
+
+        responseCache.execute("UserClient", "users/1", "/1", tag -> respond(tag, user)).join();
+        responseCache.execute("UserClient", "users/2", "/2", tag -> respond(tag, user)).join();
+        responseCache.invalidate("users/1");
+        responseCache.execute("UserClient", "users/1", "/1", tag -> respond(tag, user)).join();
+        responseCache.execute("UserClient", "users/2", "/2", tag -> respond(tag, user)).join();
+
+        Assertions.assertEquals(Arrays.asList(null, null, null, "\"0-a\""), sentTags);
+        Assertions.assertEquals(2, meterRegistry.get("shareit.gateway.cache.size").gauge().value());
+    }
+
+    @Test
+    void invalidate_ignoresResponsesEvictedFromCache() {
+        ResponseCache responseCache = new ResponseCache(meterRegistry, true, 1);
+        ResponseEntity<Object> user = ResponseEntity.ok().eTag("0-a").body(new byte[]{1});
+
+        responseCache.execute("UserClient", "users/1", "/1", tag -> respond(tag, user)).join();
+        responseCache.execute("UserClient", "users/2", "/2", tag -> respond(tag, user)).join();
+        responseCache.invalidate("users/1");
+        responseCache.execute("UserClient", "users/2", "/2", tag -> respond(tag, user)).join();
+
+        Assertions.assertEquals(Arrays.asList(null, null, "\"0-a\""), sentTags);
+        Assertions.assertEquals(1, meterRegistry.get("shareit.gateway.cache.size").gauge().value());
+    }
+
+    @Test
+    void execute_evictsLeastRecentlyUsedResponse() {
+        ResponseCache responseCache = new ResponseCache(meterRegistry, true, 1);
+        ResponseEntity<Object> user = ResponseEntity.ok().eTag("0-a").body(new byte[]{1});
+
+        responseCache.execute("UserClient", "users/1", "/1", tag -> respond(tag, user)).join();
+        responseCache.execute("UserClient", "users/2", "/2", tag -> respond(tag, user)).join();
+        responseCache.execute("UserClient", "users/1", "/1", tag -> respond(tag, user)).join();
+
+        Assertions.assertEquals(Arrays.asList(null, null, null), sentTags);
+        Assertions.assertEquals(1, meterRegistry.get("shareit.gateway.cache.size").gauge().value());
+    }
+
+    private CompletableFuture<ResponseEntity<Object>> respond(String tag, ResponseEntity<Object> response) {
+        sentTags.add(tag);
+        return CompletableFuture.completedFuture(response);
+    }
+}
@@ -0,0 +1,69 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+import ru.practicum.shareit.booking.BookingClient;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.request.ItemRequestClient;
+import ru.practicum.shareit.user.UserClient;
+
+import java.util.List;
+
+@SpringBootTest(properties = {
+        "shareit-server.client-mode=async",
+        "shareit-server.http.max-total=50",
+        "shareit-server.http.max-per-route=20"
+})
+public class ServerHttpClientConfigTest {
+
+    @Autowired
+    private PoolingHttpClientConnectionManager serverConnectionManager;
+    @Autowired
+    private HttpComponentsClientHttpRequestFactory serverRequestFactory;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private BookingClient bookingClient;
+    @Autowired
+    private ItemClient itemClient;
+    @Autowired
+    private ItemRequestClient itemRequestClient;
+    @Autowired
+    private UserClient userClient;
+
+    @Test
+    void serverConnectionManager_appliesPoolLimits() {
+        Assertions.assertEquals(50, serverConnectionManager.getMaxTotal());
+        Assertions.assertEquals(20, serverConnectionManager.getDefaultMaxPerRoute());
+        Assertions.assertEquals(50, meterRegistry.get("httpcomponents.httpclient.pool.total.max").gauge().value());
+    }
+
+    @Test
+    void clients_shareServerRequestFactory() {
+        for (Object client : List.of(bookingClient, itemClient, itemRequestClient, userClient)) {
+            RestTemplate rest = (RestTemplate) ReflectionTestUtils.getField(client, "rest");
+
+            Assertions.assertNotNull(rest);
+            Assertions.assertSame(serverRequestFactory, ReflectionTestUtils.getField(rest, "requestFactory"));
+            Assertions.assertNotNull(ReflectionTestUtils.getField(client, "webClient"));
+        }
+    }
+
+    @Test
+    void clients_exposeResilienceMetrics() {
+        for (String client : List.of("BookingClient", "ItemClient", "ItemRequestClient", "UserClient")) {
+            Assertions.assertNotNull(meterRegistry.find("resilience4j.circuitbreaker.state").tag("name", client)
+                    .gauge());
+            Assertions.assertNotNull(meterRegistry.find("resilience4j.bulkhead.available.concurrent.calls")
+                    .tag("name", client).gauge());
+            Assertions.assertNotNull(meterRegistry.find("resilience4j.retry.calls").tag("name", client).meter());
+        }
+    }
+}
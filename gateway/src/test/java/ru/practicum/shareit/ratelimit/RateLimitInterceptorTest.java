@@ -0,0 +1,56 @@
+package ru.practicum.shareit.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.item.ItemController;
+
+import java.util.concurrent.CompletableFuture;
+
+@WebMvcTest(controllers = ItemController.class, properties = {
+        "shareit.rate-limit.endpoints[/items/search].capacity=1",
+        "shareit.rate-limit.endpoints[/items/search].refill-per-second=0.5"
+})
+@Import({UserRateLimiter.class, RateLimitInterceptor.class, SimpleMeterRegistry.class})
+public class RateLimitInterceptorTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @MockBean
+    private ItemClient itemClient;
+
+    @Test
+    void searchItems_returnsTooManyRequestsWithRetryAfter() throws Exception {
+        Mockito.when(itemClient.findItemsByText(ArgumentMatchers.anyLong(), ArgumentMatchers.anyString(),
+                        ArgumentMatchers.anyInt(), ArgumentMatchers.anyInt(), ArgumentMatchers.any()))
+                .thenReturn(CompletableFuture.completedFuture(ResponseEntity.ok().build()));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/items/search?text=дрель").header("X-Sharer-User-Id", 1))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted());
+        mockMvc.perform(MockMvcRequestBuilders.get("/items/search?text=дрель").header("X-Sharer-User-Id", 2))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted());
+        mockMvc.perform(MockMvcRequestBuilders.get("/items/search?text=дрель").header("X-Sharer-User-Id", 1))
+                .andExpect(MockMvcResultMatchers.status().isTooManyRequests())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.RETRY_AFTER, "2"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.error").value("Превышен лимит запросов к /items/search"));
+    }
+
+    @Test
+    void searchItems_limitsInvalidUserIdsByRemoteAddress() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/items/search?text=дрель").header("X-Sharer-User-Id", "abc"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+        mockMvc.perform(MockMvcRequestBuilders.get("/items/search?text=дрель").header("X-Sharer-User-Id", "-1"))
+                .andExpect(MockMvcResultMatchers.status().isTooManyRequests());
+    }
+}
@@ -0,0 +1,122 @@
+package ru.practicum.shareit.ratelimit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.config.RateLimitProperties;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class UserRateLimiterTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong now = new AtomicLong();
+    private final RateLimitProperties properties = new RateLimitProperties();
+
+    @Test
+    void tryAcquire_rejectsRequestsOverCapacityUntilRefill() {
+        UserRateLimiter rateLimiter = createRateLimiter(2, 1);
+
+        Assertions.assertEquals(0, rateLimiter.tryAcquire("/items/search", "1"));
+        Assertions.assertEquals(0, rateLimiter.tryAcquire("/items/search", "1"));
+        Assertions.assertEquals(TimeUnit.SECONDS.toNanos(1), rateLimiter.tryAcquire("/items/search", "1"));
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        Assertions.assertEquals(0, rateLimiter.tryAcquire("/items/search", "1"));
+        Assertions.assertEquals(1, meterRegistry.get("shareit.gateway.rate-limit.rejected")
+                .tag("endpoint", "/items/search").counter().count());
+    }
+
+    @Test
+    void tryAcquire_keepsSeparateBucketsPerUserAndEndpoint() {
+        UserRateLimiter rateLimiter = createRateLimiter(1, 1);
+
+        Assertions.assertEquals(0, rateLimiter.tryAcquire("/items/search", "1"));
+        Assertions.assertEquals(0, rateLimiter.tryAcquire("/items/search", "2"));
+        Assertions.assertEquals(0, rateLimiter.tryAcquire("/items/{itemId}", "1"));
+        Assertions.assertTrue(rateLimiter.tryAcquire("/items/search", "1") > 0);
+    }
+
+    @Test
+    void tryAcquire_usesEndpointLimit() {
+        RateLimitProperties.Limit searchLimit = new RateLimitProperties.Limit();
+
+        searchLimit.setCapacity(1);
+        searchLimit.setRefillPerSecond(1);
+        properties.getEndpoints().put("/items/search", searchLimit);
+        UserRateLimiter rateLimiter = createRateLimiter(10, 10);
+
+        Assertions.assertEquals(0, rateLimiter.tryAcquire("/items/search", "1"));
+        Assertions.assertTrue(rateLimiter.tryAcquire("/items/search", "1") > 0);
+        Assertions.assertEquals(0, rateLimiter.tryAcquire("/items", "1"));
+        Assertions.assertEquals(0, rateLimiter.tryAcquire("/items", "1"));
+    }
+
+    @Test
+    void tryAcquire_evictsIdleBuckets() {
+        properties.setIdleTimeout(Duration.ofSeconds(10));
+        UserRateLimiter rateLimiter = createRateLimiter(1, 1);
+
+        rateLimiter.tryAcquire("/items/search", "1");
+        rateLimiter.tryAcquire("/items/search", "2");
+        now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        rateLimiter.tryAcquire("/items/search", "3");
+
+        Assertions.assertEquals(1, meterRegistry.get("shareit.gateway.rate-limit.buckets").gauge().value());
+    }
+
+    @Test
+    void tryAcquire_sharesOverflowBucketWhenBucketLimitReached() {
+        properties.setMaxBuckets(1);
+        UserRateLimiter rateLimiter = createRateLimiter(1, 1);
+
+        Assertions.assertEquals(0, rateLimiter.tryAcquire("/items/search", "1"));
+        Assertions.assertEquals(0, rateLimiter.tryAcquire("/items/search", "2"));
+        Assertions.assertTrue(rateLimiter.tryAcquire("/items/search", "3") > 0);
+        Assertions.assertEquals(2, meterRegistry.get("shareit.gateway.rate-limit.buckets").gauge().value());
+        Assertions.assertEquals(2, meterRegistry.get("shareit.gateway.rate-limit.overflow")
+                .tag("endpoint", "/items/search").counter().count());
+    }
+
+    @Test
+    void tryAcquire_limitsForcedEvictionsWhenBucketLimitReached() {
+        properties.setIdleTimeout(Duration.ofSeconds(10));
+        properties.setMaxBuckets(1);
+        UserRateLimiter rateLimiter = createRateLimiter(1, 1);
+
+        now.set(TimeUnit.SECONDS.toNanos(1));
+        rateLimiter.tryAcquire("/items/search", "1");
+        now.set(TimeUnit.SECONDS.toNanos(10));
+        rateLimiter.tryAcquire("/items/search", "2");
+        now.set(TimeUnit.MILLISECONDS.toNanos(10_500));
+        rateLimiter.tryAcquire("/items/search", "3");
+        now.set(TimeUnit.SECONDS.toNanos(11));
+        rateLimiter.tryAcquire("/items/search", "4");
+
+        Assertions.assertEquals(2, meterRegistry.get("shareit.gateway.rate-limit.buckets").gauge().value());
+
+        now.set(TimeUnit.MILLISECONDS.toNanos(11_500));
+        rateLimiter.tryAcquire("/items/search", "5");
+
+        Assertions.assertEquals(1, meterRegistry.get("shareit.gateway.rate-limit.buckets").gauge().value());
+    }
+
+    @Test
+    void tryAcquire_disabledAllowsEveryRequest() {
+        properties.setEnabled(false);
+        UserRateLimiter rateLimiter = createRateLimiter(1, 1);
+
+        Assertions.assertEquals(0, rateLimiter.tryAcquire("/items/search", "1"));
+        Assertions.assertEquals(0, rateLimiter.tryAcquire("/items/search", "1"));
+    }
+
+    private UserRateLimiter createRateLimiter(long capacity, double refillPerSecond) {
+        properties.getDefaultLimit().setCapacity(capacity);
+        properties.getDefaultLimit().setRefillPerSecond(refillPerSecond);
+        return new UserRateLimiter(properties, meterRegistry, now::get);
+    }
+}
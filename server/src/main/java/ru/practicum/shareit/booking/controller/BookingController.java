@@ -2,11 +2,15 @@ package ru.practicum.shareit.booking.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoReq;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.utils.EntityTag;
+import ru.practicum.shareit.utils.PageCursor;
 
 import java.util.List;
 
@@ -28,43 +32,53 @@ public class BookingController {
     }
 
     @PatchMapping("/{bookingId}")
-    public BookingDto approveOrRejectBooking(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                             @PathVariable Long bookingId,
-                                             @RequestParam(value = "approved") Boolean approved) {
-        log.info("Получен PATCH-запрос /bookings/{}?approved={} с userId={}", bookingId, approved, userId);
+    public ResponseEntity<BookingDto> approveOrRejectBooking(@RequestHeader("X-Sharer-User-Id") Long userId,
+            @PathVariable Long bookingId,
+            @RequestParam(value = "approved") Boolean approved,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.info("Получен PATCH-запрос /bookings/{}?approved={} с userId={} и If-Match={}", bookingId, approved, userId,
+                ifMatch);
 
-        return bookingService.approveOrRejectBooking(userId, bookingId, approved);
+        BookingDto bookingDto = bookingService.approveOrRejectBooking(userId, bookingId, approved,
+                EntityTag.parseIfMatch(ifMatch));
+
+        return EntityTag.toResponse(bookingDto, bookingDto.getVersion());
     }
 
     @GetMapping("/{bookingId}")
-    public BookingDto getBookingById(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                     @PathVariable Long bookingId) {
+    public ResponseEntity<BookingDto> getBookingById(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                     @PathVariable Long bookingId) {
         log.info("Получен GET-запрос /bookings/{} с userId={}", bookingId, userId);
 
-        return bookingService.getBookingById(userId, bookingId);
+        BookingDto bookingDto = bookingService.getBookingById(userId, bookingId);
+
+        return EntityTag.toResponse(bookingDto, bookingDto.getVersion());
     }
 
     @GetMapping
-    public List<BookingDto> getAllBookingsByUserId(@RequestHeader("X-Sharer-User-Id") Long userId,
+    public ResponseEntity<List<BookingDto>> getAllBookingsByUserId(@RequestHeader("X-Sharer-User-Id") Long userId,
             @RequestParam(name = "state", defaultValue = "ALL", required = false) String state,
             @RequestParam(name = "from", defaultValue = "0", required = false) Integer from,
-            @RequestParam(name = "size", defaultValue = "10", required = false) Integer size) {
-        log.info("Получен GET-запрос /bookings?state={}&from={}&size={} с userId={}", state, from, size, userId);
+            @RequestParam(name = "size", defaultValue = "10", required = false) Integer size,
+            @RequestParam(name = "cursor", required = false) String cursor) {
+        log.info("Получен GET-запрос /bookings?state={}&from={}&size={}&cursor={} с userId={}", state, from, size,
+                cursor, userId);
 
-        List<BookingDto> bookingsDto = bookingService.getAllBookingsByUserId(userId, state);
-
-        return bookingsDto.subList(from, Math.min((from + size), bookingsDto.size()));
+        return PageCursor.toResponse(bookingService.getAllBookingsByUserId(userId, state, from, size, cursor), size,
+                b -> PageCursor.of(b.getStart(), b.getId()));
     }
 
     @GetMapping("/owner")
-    public List<BookingDto> getAllBookingsForAllItemsByUserId(@RequestHeader("X-Sharer-User-Id") Long userId,
+    public ResponseEntity<List<BookingDto>> getAllBookingsForAllItemsByUserId(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
             @RequestParam(name = "state", defaultValue = "ALL", required = false) String state,
             @RequestParam(name = "from", defaultValue = "0", required = false) Integer from,
-            @RequestParam(name = "size", defaultValue = "10", required = false) Integer size) {
-        log.info("Получен GET-запрос /bookings/owner?state={}&from={}&size={} с userId={}", state, from, size, userId);
-
-        List<BookingDto> bookingsDto = bookingService.getAllBookingsForAllItemsByUserId(userId, state);
+            @RequestParam(name = "size", defaultValue = "10", required = false) Integer size,
+            @RequestParam(name = "cursor", required = false) String cursor) {
+        log.info("Получен GET-запрос /bookings/owner?state={}&from={}&size={}&cursor={} с userId={}", state, from,
+                size, cursor, userId);
 
-        return bookingsDto.subList(from, Math.min((from + size), bookingsDto.size()));
+        return PageCursor.toResponse(bookingService.getAllBookingsForAllItemsByUserId(userId, state, from, size,
+                cursor), size, b -> PageCursor.of(b.getStart(), b.getId()));
     }
 }
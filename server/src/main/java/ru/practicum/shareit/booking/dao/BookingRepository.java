@@ -1,71 +1,212 @@
 package ru.practicum.shareit.booking.dao;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.booking.dto.BookingProjection;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
-    List<Booking> findByBookerIdOrderByStartDesc(Long userId);
+    String BOOKING_PROJECTION = "SELECT new ru.practicum.shareit.booking.dto.BookingProjection(b.id, b.start, " +
+            "b.end, b.status, i.id, i.name, i.description, i.available, r.id, o.id, o.name, o.email, u.id, u.name, " +
+            "u.email) " +
+            "FROM Booking b " +
+            "JOIN b.item i " +
+            "JOIN i.owner o " +
+            "LEFT JOIN i.request r " +
+            "JOIN b.booker u ";
+
+    @Override
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    Optional<Booking> findById(Long id);
+
+    @Query(BOOKING_PROJECTION +
+            "WHERE u.id = :userId " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<BookingProjection> findBookingsByBookerId(Long userId, Pageable pageable);
+
+    @Query(BOOKING_PROJECTION +
+            "WHERE u.id = :userId AND b.start < :now AND b.end > :now " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<BookingProjection> findCurrentBookingsByBookerId(Long userId, LocalDateTime now, Pageable pageable);
+
+    @Query(BOOKING_PROJECTION +
+            "WHERE u.id = :userId AND b.end < :now " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<BookingProjection> findPastBookingsByBookerId(Long userId, LocalDateTime now, Pageable pageable);
 
-    List<Booking> findByBookerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(Long userId, LocalDateTime now,
-                                                                              LocalDateTime now1);
+    @Query(BOOKING_PROJECTION +
+            "WHERE u.id = :userId AND b.start > :now " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<BookingProjection> findFutureBookingsByBookerId(Long userId, LocalDateTime now, Pageable pageable);
 
-    List<Booking> findByBookerIdAndEndIsBeforeOrderByStartDesc(Long userId, LocalDateTime now);
+    @Query(BOOKING_PROJECTION +
+            "WHERE u.id = :userId AND b.status = :bookingStatus " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<BookingProjection> findStatusBookingsByBookerId(Long userId, BookingStatus bookingStatus,
+                                                         Pageable pageable);
 
-    List<Booking> findByBookerIdAndStartIsAfterOrderByStartDesc(Long userId, LocalDateTime now);
+    @Query(BOOKING_PROJECTION +
+            "WHERE u.id = :userId " +
+            "AND (b.start < :start OR (b.start = :start AND b.id < :id)) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<BookingProjection> findBookingsByBookerIdAfterCursor(Long userId, LocalDateTime start, Long id,
+                                                              Pageable pageable);
+
+    @Query(BOOKING_PROJECTION +
+            "WHERE u.id = :userId AND b.start < :now AND b.end > :now " +
+            "AND (b.start < :start OR (b.start = :start AND b.id < :id)) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<BookingProjection> findCurrentBookingsByBookerIdAfterCursor(Long userId, LocalDateTime now,
+                                                                     LocalDateTime start, Long id, Pageable pageable);
+
+    @Query(BOOKING_PROJECTION +
+            "WHERE u.id = :userId AND b.end < :now " +
+            "AND (b.start < :start OR (b.start = :start AND b.id < :id)) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<BookingProjection> findPastBookingsByBookerIdAfterCursor(Long userId, LocalDateTime now,
+                                                                  LocalDateTime start, Long id, Pageable pageable);
 
-    List<Booking> findByBookerIdAndStatusOrderByStartDesc(Long userId, BookingStatus bookingStatus);
+    @Query(BOOKING_PROJECTION +
+            "WHERE u.id = :userId AND b.start > :now " +
+            "AND (b.start < :start OR (b.start = :start AND b.id < :id)) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<BookingProjection> findFutureBookingsByBookerIdAfterCursor(Long userId, LocalDateTime now,
+                                                                    LocalDateTime start, Long id, Pageable pageable);
 
+    @Query(BOOKING_PROJECTION +
+            "WHERE u.id = :userId AND b.status = :bookingStatus " +
+            "AND (b.start < :start OR (b.start = :start AND b.id < :id)) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<BookingProjection> findStatusBookingsByBookerIdAfterCursor(Long userId, BookingStatus bookingStatus,
+                                                                    LocalDateTime start, Long id,
+                                                                    Pageable pageable);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
     @Query("SELECT b " +
             "FROM Booking b " +
             "JOIN Item i ON b.item = i.id " +
             "JOIN User u ON i.owner = u.id " +
             "WHERE u.id = :userId " +
-            "ORDER BY b.start DESC")
-    List<Booking> findAllBookingsForAllItemsByUserId(Long userId);
+            "ORDER BY b.start DESC, b.id DESC")
+    List<Booking> findAllBookingsForAllItemsByUserId(Long userId, Pageable pageable);
 
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
     @Query("SELECT b " +
             "FROM Booking b " +
             "JOIN Item i ON b.item = i.id " +
             "JOIN User u ON i.owner = u.id " +
             "WHERE u.id = :userId AND :now BETWEEN b.start AND b.end " +
-            "ORDER BY b.start DESC")
-    List<Booking> findCurrentBookingsForAllItemsByUserId(Long userId, LocalDateTime now);
+            "ORDER BY b.start DESC, b.id DESC")
+    List<Booking> findCurrentBookingsForAllItemsByUserId(Long userId, LocalDateTime now, Pageable pageable);
 
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
     @Query("SELECT b " +
             "FROM Booking b " +
             "JOIN Item i ON b.item = i.id " +
             "JOIN User u ON i.owner = u.id " +
             "WHERE u.id = :userId AND b.end < :now " +
-            "ORDER BY b.start DESC")
-    List<Booking> findPastBookingsForAllItemsByUserId(Long userId, LocalDateTime now);
+            "ORDER BY b.start DESC, b.id DESC")
+    List<Booking> findPastBookingsForAllItemsByUserId(Long userId, LocalDateTime now, Pageable pageable);
 
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
     @Query("SELECT b " +
             "FROM Booking b " +
             "JOIN Item i ON b.item = i.id " +
             "JOIN User u ON i.owner = u.id " +
             "WHERE u.id = :userId AND b.start > :now " +
-            "ORDER BY b.start DESC")
-    List<Booking> findFutureBookingsForAllItemsByUserId(Long userId, LocalDateTime now);
+            "ORDER BY b.start DESC, b.id DESC")
+    List<Booking> findFutureBookingsForAllItemsByUserId(Long userId, LocalDateTime now, Pageable pageable);
 
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
     @Query("SELECT b " +
             "FROM Booking b " +
             "JOIN Item i ON b.item = i.id " +
             "JOIN User u ON i.owner = u.id " +
             "WHERE u.id = :userId AND b.status = :bookingStatus " +
-            "ORDER BY b.start DESC")
-    List<Booking> findStatusBookingsForAllItemsByUserId(Long userId, BookingStatus bookingStatus);
+            "ORDER BY b.start DESC, b.id DESC")
+    List<Booking> findStatusBookingsForAllItemsByUserId(Long userId, BookingStatus bookingStatus,
+                                                       Pageable pageable);
 
-    Booking findFirstByItemIdAndStartBeforeAndStatusOrderByStartDesc(Long itemId, LocalDateTime now,
-                                                                     BookingStatus bookingStatus);
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("SELECT b " +
+            "FROM Booking b " +
+            "JOIN Item i ON b.item = i.id " +
+            "JOIN User u ON i.owner = u.id " +
+            "WHERE u.id = :userId " +
+            "AND (b.start < :start OR (b.start = :start AND b.id < :id)) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<Booking> findAllBookingsForAllItemsByUserIdAfterCursor(Long userId, LocalDateTime start, Long id,
+                                                               Pageable pageable);
 
-    Booking findFirstByItemIdAndStartAfterAndStatusOrderByStartAsc(Long itemId, LocalDateTime now,
-                                                                   BookingStatus bookingStatus);
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("SELECT b " +
+            "FROM Booking b " +
+            "JOIN Item i ON b.item = i.id " +
+            "JOIN User u ON i.owner = u.id " +
+            "WHERE u.id = :userId AND :now BETWEEN b.start AND b.end " +
+            "AND (b.start < :start OR (b.start = :start AND b.id < :id)) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<Booking> findCurrentBookingsForAllItemsByUserIdAfterCursor(Long userId, LocalDateTime now,
+                                                                   LocalDateTime start, Long id, Pageable pageable);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("SELECT b " +
+            "FROM Booking b " +
+            "JOIN Item i ON b.item = i.id " +
+            "JOIN User u ON i.owner = u.id " +
+            "WHERE u.id = :userId AND b.end < :now " +
+            "AND (b.start < :start OR (b.start = :start AND b.id < :id)) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<Booking> findPastBookingsForAllItemsByUserIdAfterCursor(Long userId, LocalDateTime now,
+                                                                LocalDateTime start, Long id, Pageable pageable);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("SELECT b " +
+            "FROM Booking b " +
+            "JOIN Item i ON b.item = i.id " +
+            "JOIN User u ON i.owner = u.id " +
+            "WHERE u.id = :userId AND b.start > :now " +
+            "AND (b.start < :start OR (b.start = :start AND b.id < :id)) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<Booking> findFutureBookingsForAllItemsByUserIdAfterCursor(Long userId, LocalDateTime now,
+                                                                  LocalDateTime start, Long id, Pageable pageable);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("SELECT b " +
+            "FROM Booking b " +
+            "JOIN Item i ON b.item = i.id " +
+            "JOIN User u ON i.owner = u.id " +
+            "WHERE u.id = :userId AND b.status = :bookingStatus " +
+            "AND (b.start < :start OR (b.start = :start AND b.id < :id)) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<Booking> findStatusBookingsForAllItemsByUserIdAfterCursor(Long userId, BookingStatus bookingStatus,
+                                                                  LocalDateTime start, Long id, Pageable pageable);
+
+    @Query("SELECT b " +
+            "FROM Booking b " +
+            "WHERE b.item.id IN :itemIds AND b.status = :bookingStatus " +
+            "AND (b.start = (SELECT MAX(lb.start) " +
+            "FROM Booking lb " +
+            "WHERE lb.item.id = b.item.id AND lb.status = :bookingStatus AND lb.start < :now) " +
+            "OR b.start = (SELECT MIN(nb.start) " +
+            "FROM Booking nb " +
+            "WHERE nb.item.id = b.item.id AND nb.status = :bookingStatus AND nb.start > :now)) " +
+            "ORDER BY b.id")
+    List<Booking> findLastAndNextBookingsByItemIds(List<Long> itemIds, LocalDateTime now,
+                                                   BookingStatus bookingStatus);
+
+    List<Booking> findByItemIdAndStatusIn(Long itemId, List<BookingStatus> bookingStatuses);
+
+    boolean existsByItemIdAndStatusAndStartBeforeAndEndAfter(Long itemId, BookingStatus bookingStatus,
+                                                             LocalDateTime end, LocalDateTime start);
 
     Booking findFirstByBookerIdAndItemIdAndStatusAndEndBeforeOrderByEndDesc(Long userId, Long itemId,
                                                                             BookingStatus bookingStatus,
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.booking.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.item.dto.ItemDto;
@@ -26,4 +27,7 @@ public class BookingDto {
     private UserDto booker;
 
     private BookingStatus status;
+
+    @JsonIgnore
+    private Long version;
 }
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.time.LocalDateTime;
+
+@AllArgsConstructor
+@Getter
+@ToString
+public class BookingProjection {
+
+    private Long id;
+
+    private LocalDateTime start;
+
+    private LocalDateTime end;
+
+    private BookingStatus status;
+
+    private Long itemId;
+
+    private String itemName;
+
+    private String itemDescription;
+
+    private Boolean itemAvailable;
+
+    private Long itemRequestId;
+
+    private Long ownerId;
+
+    private String ownerName;
+
+    private String ownerEmail;
+
+    private Long bookerId;
+
+    private String bookerName;
+
+    private String bookerEmail;
+}
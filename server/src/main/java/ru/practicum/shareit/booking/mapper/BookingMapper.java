@@ -4,8 +4,11 @@ import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoOwn;
+import ru.practicum.shareit.booking.dto.BookingProjection;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 
 @Mapper(componentModel = org.mapstruct.MappingConstants.ComponentModel.SPRING,
@@ -14,6 +17,23 @@ public interface BookingMapper {
 
     BookingDto toBookingDto(Booking booking);
 
+    default BookingDto toBookingDto(BookingProjection bookingProjection) {
+        if (bookingProjection == null) return null;
+
+        return BookingDto.builder().id(bookingProjection.getId()).start(bookingProjection.getStart())
+                .end(bookingProjection.getEnd()).status(bookingProjection.getStatus())
+                .item(ItemDto.builder().id(bookingProjection.getItemId()).name(bookingProjection.getItemName())
+                        .description(bookingProjection.getItemDescription())
+                        .available(bookingProjection.getItemAvailable())
+                        .owner(UserDto.builder().id(bookingProjection.getOwnerId())
+                                .name(bookingProjection.getOwnerName()).email(bookingProjection.getOwnerEmail())
+                                .build())
+                        .requestId(bookingProjection.getItemRequestId()).build())
+                .booker(UserDto.builder().id(bookingProjection.getBookerId()).name(bookingProjection.getBookerName())
+                        .email(bookingProjection.getBookerEmail()).build())
+                .build();
+    }
+
     @Mapping(source = "booker.id", target = "bookerId")
     BookingDtoOwn toBookingDtoOwner(Booking booking);
 }
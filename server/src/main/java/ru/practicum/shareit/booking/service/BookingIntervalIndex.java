@@ -0,0 +1,75 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.config.PrimaryReadTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+public class BookingIntervalIndex {
+
+    private static final int MAX_ITEMS = 10_000;
+
+    private static final List<BookingStatus> ACTIVE_STATUSES = List.of(BookingStatus.APPROVED, BookingStatus.WAITING);
+
+    private final BookingRepository bookingRepository;
+    private final PrimaryReadTemplate primaryReadTemplate;
+    private final AtomicLong appliedWrites = new AtomicLong();
+    private final Map<Long, BookingIntervalTree> trees = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, BookingIntervalTree> eldest) {
+                    return size() > MAX_ITEMS;
+                }
+            });
+
+    public List<BookingInterval> findOverlapping(Long itemId, LocalDateTime from, LocalDateTime to) {
+        return getTree(itemId).findOverlapping(from, to);
+    }
+
+    public void update(Long itemId, BookingInterval interval) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(itemId, interval);
+                }
+            });
+        } else {
+            apply(itemId, interval);
+        }
+    }
+
+    private void apply(Long itemId, BookingInterval interval) {
+        appliedWrites.incrementAndGet();
+        trees.computeIfPresent(itemId, (id, tree) -> ACTIVE_STATUSES.contains(interval.getStatus())
+                ? tree.with(interval) : tree.without(interval.getBookingId()));
+    }
+
+    private BookingIntervalTree getTree(Long itemId) {
+        BookingIntervalTree tree = trees.get(itemId);
+
+        if (tree != null) return tree;
+
+        long writesBeforeLoad = appliedWrites.get();
+
+        return primaryReadTemplate.load(() -> new BookingIntervalTree(
+                bookingRepository.findByItemIdAndStatusIn(itemId, ACTIVE_STATUSES).stream()
+                        .map(b -> new BookingInterval(b.getId(), b.getStart(), b.getEnd(), b.getStatus()))
+                        .collect(Collectors.toList())), loaded -> {
+            if (writesBeforeLoad == appliedWrites.get()) trees.putIfAbsent(itemId, loaded);
+        });
+    }
+}
@@ -0,0 +1,87 @@
+package ru.practicum.shareit.booking.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+class BookingIntervalTree {
+
+    private static final Comparator<BookingInterval> START_ORDER = Comparator.comparing(BookingInterval::getStart)
+            .thenComparing(BookingInterval::getBookingId);
+
+    private final BookingInterval[] intervals;
+
+    private final LocalDateTime[] maxEnds;
+
+    BookingIntervalTree(Collection<BookingInterval> intervals) {
+        this.intervals = intervals.toArray(new BookingInterval[0]);
+        this.maxEnds = new LocalDateTime[this.intervals.length];
+
+        Arrays.sort(this.intervals, START_ORDER);
+        buildMaxEnds(0, this.intervals.length);
+    }
+
+    List<BookingInterval> findOverlapping(LocalDateTime from, LocalDateTime to) {
+        List<BookingInterval> overlapping = new ArrayList<>();
+
+        collectOverlapping(0, intervals.length, from, to, overlapping);
+
+        return overlapping;
+    }
+
+    BookingIntervalTree with(BookingInterval interval) {
+        List<BookingInterval> updated = without(interval.getBookingId(), intervals.length + 1);
+
+        updated.add(interval);
+
+        return new BookingIntervalTree(updated);
+    }
+
+    BookingIntervalTree without(Long bookingId) {
+        return new BookingIntervalTree(without(bookingId, intervals.length));
+    }
+
+    private List<BookingInterval> without(Long bookingId, int capacity) {
+        List<BookingInterval> remaining = new ArrayList<>(capacity);
+
+        for (BookingInterval interval : intervals) {
+            if (!interval.getBookingId().equals(bookingId)) remaining.add(interval);
+        }
+
+        return remaining;
+    }
+
+    private LocalDateTime buildMaxEnds(int low, int high) {
+        if (low >= high) return null;
+
+        int middle = (low + high) >>> 1;
+        LocalDateTime maxEnd = intervals[middle].getEnd();
+        LocalDateTime leftMaxEnd = buildMaxEnds(low, middle);
+        LocalDateTime rightMaxEnd = buildMaxEnds(middle + 1, high);
+
+        if (leftMaxEnd != null && leftMaxEnd.isAfter(maxEnd)) maxEnd = leftMaxEnd;
+        if (rightMaxEnd != null && rightMaxEnd.isAfter(maxEnd)) maxEnd = rightMaxEnd;
+        maxEnds[middle] = maxEnd;
+
+        return maxEnd;
+    }
+
+    private void collectOverlapping(int low, int high, LocalDateTime from, LocalDateTime to,
+                                    List<BookingInterval> overlapping) {
+        if (low >= high) return;
+
+        int middle = (low + high) >>> 1;
+
+        if (!maxEnds[middle].isAfter(from)) return;
+
+        collectOverlapping(low, middle, from, to, overlapping);
+
+        if (!intervals[middle].getStart().isBefore(to)) return;
+        if (intervals[middle].getEnd().isAfter(from)) overlapping.add(intervals[middle]);
+
+        collectOverlapping(middle + 1, high, from, to, overlapping);
+    }
+}
@@ -9,11 +9,12 @@ public interface BookingService {
 
     BookingDto createBooking(Long userId, BookingDtoReq bookingDtoReq);
 
-    BookingDto approveOrRejectBooking(Long userId, Long bookingId, Boolean approved);
+    BookingDto approveOrRejectBooking(Long userId, Long bookingId, Boolean approved, Long version);
 
     BookingDto getBookingById(Long userId, Long bookingId);
 
-    List<BookingDto> getAllBookingsByUserId(Long userId, String state);
+    List<BookingDto> getAllBookingsByUserId(Long userId, String state, Integer from, Integer size, String cursor);
 
-    List<BookingDto> getAllBookingsForAllItemsByUserId(Long userId, String state);
+    List<BookingDto> getAllBookingsForAllItemsByUserId(Long userId, String state, Integer from, Integer size,
+                                                       String cursor);
 }
@@ -2,19 +2,27 @@ package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dao.BookingRepository;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoReq;
+import ru.practicum.shareit.booking.dto.BookingProjection;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.exception.EntityConflictException;
+import ru.practicum.shareit.exception.EntityPreconditionFailedException;
 import ru.practicum.shareit.exception.EntityValidationException;
 import ru.practicum.shareit.item.dao.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.dao.UserRepository;
 import ru.practicum.shareit.exception.EntityNotFoundException;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.utils.OffsetPageRequest;
+import ru.practicum.shareit.utils.OptimisticLockRetrier;
+import ru.practicum.shareit.utils.PageCursor;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -29,8 +37,12 @@ public class BookingServiceImpl implements BookingService {
     private final BookingMapper bookingMapper;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final BookingTimelineCache bookingTimelineCache;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final OptimisticLockRetrier optimisticLockRetrier;
 
     @Override
+    @Transactional
     public BookingDto createBooking(Long userId, BookingDtoReq bookingDtoReq) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new EntityNotFoundException("Попытка аренды вещи несуществующим пользователем"));
@@ -48,38 +60,61 @@ public class BookingServiceImpl implements BookingService {
         if (start.isBefore(LocalDateTime.now()) || start.equals(end) || start.isAfter(end))
             throw new EntityValidationException("Некорректный период аренды");
 
-        return bookingMapper.toBookingDto(bookingRepository.save(Booking.builder().start(start).end(end).item(item)
-                .booker(user).status(BookingStatus.WAITING).build()));
+        if (bookingRepository.existsByItemIdAndStatusAndStartBeforeAndEndAfter(item.getId(), BookingStatus.APPROVED,
+                end, start))
+            throw new EntityConflictException("Вещь уже забронирована на этот период");
+
+        Booking booking = bookingRepository.save(Booking.builder().start(start).end(end).item(item).booker(user)
+                .status(BookingStatus.WAITING).build());
+
+        bookingTimelineCache.evict(item.getId());
+        bookingIntervalIndex.update(item.getId(), new BookingInterval(booking.getId(), booking.getStart(),
+                booking.getEnd(), booking.getStatus()));
+
+        return bookingMapper.toBookingDto(booking);
     }
 
     @Override
-    public BookingDto approveOrRejectBooking(Long userId, Long bookingId, Boolean approved) {
+    public BookingDto approveOrRejectBooking(Long userId, Long bookingId, Boolean approved, Long version) {
         if (!userRepository.existsById(userId))
             throw new EntityNotFoundException("Попытка подтверждения или отклонения запроса на бронирование " +
                     "несуществующим пользователем");
 
-        Booking booking = bookingRepository.findById(bookingId)
-                .orElseThrow(() -> new EntityNotFoundException("Попытка подтверждения или отклонения несуществующего " +
-                        "запроса на бронирование"));
+        BookingDto bookingDto = optimisticLockRetrier.execute(() -> {
+            Booking booking = bookingRepository.findById(bookingId)
+                    .orElseThrow(() -> new EntityNotFoundException("Попытка подтверждения или отклонения " +
+                            "несуществующего запроса на бронирование"));
+
+            if (!booking.getItem().getOwner().getId().equals(userId))
+                throw new EntityNotFoundException("Пользователь не является владельцем вещи");
 
-        if (!booking.getItem().getOwner().getId().equals(userId))
-            throw new EntityNotFoundException("Пользователь не является владельцем вещи");
+            if (version != null && !version.equals(booking.getVersion()))
+                throw new EntityPreconditionFailedException("Бронирование было изменено другим запросом");
 
-        if (booking.getStatus().equals(BookingStatus.WAITING)) {
-            if (approved) {
-                booking.setStatus(BookingStatus.APPROVED);
+            if (booking.getStatus().equals(BookingStatus.WAITING)) {
+                if (approved) {
+                    lockItemAndCheckOverlap(booking);
+                    booking.setStatus(BookingStatus.APPROVED);
+                } else {
+                    booking.setStatus(BookingStatus.REJECTED);
+                }
             } else {
-                booking.setStatus(BookingStatus.REJECTED);
+                throw new EntityValidationException("Попытка подтверждения или отклонения запроса находящегося не " +
+                        "в статусе «ожидает подтверждения»");
             }
-        } else {
-            throw new EntityValidationException("Попытка подтверждения или отклонения запроса находящегося не в " +
-                    "статусе «ожидает подтверждения»");
-        }
 
-        return bookingMapper.toBookingDto(bookingRepository.save(booking));
+            return bookingMapper.toBookingDto(bookingRepository.saveAndFlush(booking));
+        });
+
+        bookingTimelineCache.evict(bookingDto.getItem().getId());
+        bookingIntervalIndex.update(bookingDto.getItem().getId(), new BookingInterval(bookingDto.getId(),
+                bookingDto.getStart(), bookingDto.getEnd(), bookingDto.getStatus()));
+
+        return bookingDto;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public BookingDto getBookingById(Long userId, Long bookingId) {
         if (!userRepository.existsById(userId))
             throw new EntityNotFoundException("Попытка получения данных о бронировании несуществующим пользователем");
@@ -95,61 +130,132 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    public List<BookingDto> getAllBookingsByUserId(Long userId, String state) {
+    @Transactional(readOnly = true)
+    public List<BookingDto> getAllBookingsByUserId(Long userId, String state, Integer from, Integer size,
+                                                   String cursor) {
         if (!userRepository.existsById(userId))
             throw new EntityNotFoundException("Попытка получения данных о бронировании несуществующим пользователем");
 
+        PageCursor after = decodeCursor(cursor);
+        Pageable pageable = OffsetPageRequest.of(after == null ? from : 0, size);
+        List<BookingProjection> bookings;
+
         switch (state) {
             case "ALL":
-                return bookingRepository.findByBookerIdOrderByStartDesc(userId).stream()
-                        .map(bookingMapper::toBookingDto).collect(Collectors.toList());
+                bookings = after == null
+                        ? bookingRepository.findBookingsByBookerId(userId, pageable)
+                        : bookingRepository.findBookingsByBookerIdAfterCursor(userId, after.getStart(), after.getId(),
+                        pageable);
+                break;
             case "CURRENT":
-                return bookingRepository.findByBookerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(userId,
-                                LocalDateTime.now(), LocalDateTime.now()).stream().map(bookingMapper::toBookingDto)
-                        .collect(Collectors.toList());
+                bookings = after == null
+                        ? bookingRepository.findCurrentBookingsByBookerId(userId, LocalDateTime.now(), pageable)
+                        : bookingRepository.findCurrentBookingsByBookerIdAfterCursor(userId, LocalDateTime.now(),
+                        after.getStart(), after.getId(), pageable);
+                break;
             case "PAST":
-                return bookingRepository.findByBookerIdAndEndIsBeforeOrderByStartDesc(userId, LocalDateTime.now())
-                        .stream().map(bookingMapper::toBookingDto).collect(Collectors.toList());
+                bookings = after == null
+                        ? bookingRepository.findPastBookingsByBookerId(userId, LocalDateTime.now(), pageable)
+                        : bookingRepository.findPastBookingsByBookerIdAfterCursor(userId, LocalDateTime.now(),
+                        after.getStart(), after.getId(), pageable);
+                break;
             case "FUTURE":
-                return bookingRepository.findByBookerIdAndStartIsAfterOrderByStartDesc(userId, LocalDateTime.now())
-                        .stream().map(bookingMapper::toBookingDto).collect(Collectors.toList());
+                bookings = after == null
+                        ? bookingRepository.findFutureBookingsByBookerId(userId, LocalDateTime.now(), pageable)
+                        : bookingRepository.findFutureBookingsByBookerIdAfterCursor(userId, LocalDateTime.now(),
+                        after.getStart(), after.getId(), pageable);
+                break;
             case "WAITING":
-                return bookingRepository.findByBookerIdAndStatusOrderByStartDesc(userId, BookingStatus.WAITING).stream()
-                        .map(bookingMapper::toBookingDto).collect(Collectors.toList());
             case "REJECTED":
-                return bookingRepository.findByBookerIdAndStatusOrderByStartDesc(userId, BookingStatus.REJECTED)
-                        .stream().map(bookingMapper::toBookingDto).collect(Collectors.toList());
+                BookingStatus bookingStatus = BookingStatus.valueOf(state);
+
+                bookings = after == null
+                        ? bookingRepository.findStatusBookingsByBookerId(userId, bookingStatus, pageable)
+                        : bookingRepository.findStatusBookingsByBookerIdAfterCursor(userId, bookingStatus,
+                        after.getStart(), after.getId(), pageable);
+                break;
             default:
                 throw new EntityValidationException(String.format("Unknown state: %s", state));
         }
+
+        return bookings.stream().map(bookingMapper::toBookingDto).collect(Collectors.toList());
     }
 
     @Override
-    public List<BookingDto> getAllBookingsForAllItemsByUserId(Long userId, String state) {
+    @Transactional(readOnly = true)
+    public List<BookingDto> getAllBookingsForAllItemsByUserId(Long userId, String state, Integer from, Integer size,
+                                                              String cursor) {
         if (!userRepository.existsById(userId))
             throw new EntityNotFoundException("Попытка получения данных о бронировании несуществующим пользователем");
 
+        PageCursor after = decodeCursor(cursor);
+        Pageable pageable = OffsetPageRequest.of(after == null ? from : 0, size);
+        List<Booking> bookings;
+
         switch (state) {
             case "ALL":
-                return bookingRepository.findAllBookingsForAllItemsByUserId(userId).stream()
-                        .map(bookingMapper::toBookingDto).collect(Collectors.toList());
+                bookings = after == null
+                        ? bookingRepository.findAllBookingsForAllItemsByUserId(userId, pageable)
+                        : bookingRepository.findAllBookingsForAllItemsByUserIdAfterCursor(userId, after.getStart(),
+                        after.getId(), pageable);
+                break;
             case "CURRENT":
-                return bookingRepository.findCurrentBookingsForAllItemsByUserId(userId, LocalDateTime.now()).stream()
-                        .map(bookingMapper::toBookingDto).collect(Collectors.toList());
+                bookings = after == null
+                        ? bookingRepository.findCurrentBookingsForAllItemsByUserId(userId, LocalDateTime.now(),
+                        pageable)
+                        : bookingRepository.findCurrentBookingsForAllItemsByUserIdAfterCursor(userId,
+                        LocalDateTime.now(), after.getStart(), after.getId(), pageable);
+                break;
             case "PAST":
-                return bookingRepository.findPastBookingsForAllItemsByUserId(userId, LocalDateTime.now()).stream()
-                        .map(bookingMapper::toBookingDto).collect(Collectors.toList());
+                bookings = after == null
+                        ? bookingRepository.findPastBookingsForAllItemsByUserId(userId, LocalDateTime.now(), pageable)
+                        : bookingRepository.findPastBookingsForAllItemsByUserIdAfterCursor(userId,
+                        LocalDateTime.now(), after.getStart(), after.getId(), pageable);
+                break;
             case "FUTURE":
-                return bookingRepository.findFutureBookingsForAllItemsByUserId(userId, LocalDateTime.now()).stream()
-                        .map(bookingMapper::toBookingDto).collect(Collectors.toList());
+                bookings = after == null
+                        ? bookingRepository.findFutureBookingsForAllItemsByUserId(userId, LocalDateTime.now(),
+                        pageable)
+                        : bookingRepository.findFutureBookingsForAllItemsByUserIdAfterCursor(userId,
+                        LocalDateTime.now(), after.getStart(), after.getId(), pageable);
+                break;
             case "WAITING":
-                return bookingRepository.findStatusBookingsForAllItemsByUserId(userId, BookingStatus.WAITING).stream()
-                        .map(bookingMapper::toBookingDto).collect(Collectors.toList());
             case "REJECTED":
-                return bookingRepository.findStatusBookingsForAllItemsByUserId(userId, BookingStatus.REJECTED).stream()
-                        .map(bookingMapper::toBookingDto).collect(Collectors.toList());
+                BookingStatus bookingStatus = BookingStatus.valueOf(state);
+
+                bookings = after == null
+                        ? bookingRepository.findStatusBookingsForAllItemsByUserId(userId, bookingStatus, pageable)
+                        : bookingRepository.findStatusBookingsForAllItemsByUserIdAfterCursor(userId, bookingStatus,
+                        after.getStart(), after.getId(), pageable);
+                break;
             default:
                 throw new EntityValidationException(String.format("Unknown state: %s", state));
         }
+
+        return bookings.stream().map(bookingMapper::toBookingDto).collect(Collectors.toList());
+    }
+
+    private void lockItemAndCheckOverlap(Booking booking) {
+        Long itemId = booking.getItem().getId();
+
+        itemRepository.findItemByIdForUpdate(itemId)
+                .orElseThrow(() -> new EntityNotFoundException("Попытка подтверждения бронирования несуществующей " +
+                        "вещи"));
+
+        if (bookingRepository.existsByItemIdAndStatusAndStartBeforeAndEndAfter(itemId, BookingStatus.APPROVED,
+                booking.getEnd(), booking.getStart()))
+            throw new EntityConflictException("Период бронирования пересекается с уже подтверждённым " +
+                    "бронированием");
+    }
+
+    private PageCursor decodeCursor(String cursor) {
+        if (cursor == null) return null;
+
+        PageCursor pageCursor = PageCursor.decode(cursor);
+
+        if (pageCursor.getStart() == null)
+            throw new EntityValidationException(String.format("Некорректный курсор: %s", cursor));
+
+        return pageCursor;
     }
 }
@@ -0,0 +1,110 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingDtoOwn;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.config.PrimaryReadTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@RequiredArgsConstructor
+public class BookingTimelineCache {
+
+    private static final int MAX_ENTRIES = 10_000;
+
+    private static final Duration MAX_AGE = Duration.ofMinutes(10);
+
+    private final BookingRepository bookingRepository;
+    private final BookingMapper bookingMapper;
+    private final PrimaryReadTemplate primaryReadTemplate;
+    private final AtomicLong appliedWrites = new AtomicLong();
+    private final Map<Long, BookingTimeline> timelines = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, BookingTimeline> eldest) {
+                    return size() > MAX_ENTRIES;
+                }
+            });
+
+    public BookingTimeline getTimeline(Long itemId, LocalDateTime now) {
+        BookingTimeline timeline = timelines.get(itemId);
+
+        if (timeline != null && timeline.isValidAt(now)) return timeline;
+
+        long writesBeforeLoad = appliedWrites.get();
+
+        return primaryReadTemplate.load(() -> loadTimeline(itemId, now), loaded -> {
+            if (writesBeforeLoad == appliedWrites.get()) timelines.put(itemId, loaded);
+        });
+    }
+
+    public void evict(Long itemId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remove(itemId);
+                }
+            });
+        } else {
+            remove(itemId);
+        }
+    }
+
+    private void remove(Long itemId) {
+        appliedWrites.incrementAndGet();
+        timelines.remove(itemId);
+    }
+
+    private BookingTimeline loadTimeline(Long itemId, LocalDateTime now) {
+        Booking lastBooking = null;
+        Booking nextBooking = null;
+        List<Booking> bookings = bookingRepository.findLastAndNextBookingsByItemIds(List.of(itemId), now,
+                BookingStatus.APPROVED);
+
+        for (Booking booking : bookings) {
+            if (booking.getStart().isBefore(now)) {
+                if (lastBooking == null) lastBooking = booking;
+            } else if (nextBooking == null) {
+                nextBooking = booking;
+            }
+        }
+
+        return new BookingTimeline(bookingMapper.toBookingDtoOwner(lastBooking),
+                bookingMapper.toBookingDtoOwner(nextBooking), now,
+                nextBooking == null ? null : nextBooking.getStart());
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class BookingTimeline {
+
+        private final BookingDtoOwn lastBooking;
+
+        private final BookingDtoOwn nextBooking;
+
+        private final LocalDateTime loadedAt;
+
+        private final LocalDateTime nextStart;
+
+        private boolean isValidAt(LocalDateTime now) {
+            return !now.isBefore(loadedAt) && now.isBefore(loadedAt.plus(MAX_AGE))
+                    && (nextStart == null || now.isBefore(nextStart));
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.practicum.shareit.utils.EntityTagFilter;
+
+@Configuration
+public class EntityTagFilterConfig {
+
+    @Bean
+    public FilterRegistrationBean<EntityTagFilter> entityTagFilter() {
+        FilterRegistrationBean<EntityTagFilter> registration = new FilterRegistrationBean<>(new EntityTagFilter(
+                "/items/{itemId:\\d+}", "/users/{userId:\\d+}", "/requests", "/requests/{requestId:\\d+}"));
+
+        registration.addUrlPatterns("/items/*", "/users/*", "/requests", "/requests/*");
+
+        return registration;
+    }
+}
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+@Component
+public class PrimaryReadTemplate {
+
+    private final ReadWriteRoutingDataSource routingDataSource;
+
+    public PrimaryReadTemplate(ObjectProvider<ReadWriteRoutingDataSource> routingDataSource) {
+        this.routingDataSource = routingDataSource.getIfAvailable();
+    }
+
+    public <T> T load(Supplier<T> loader, Consumer<T> cache) {
+        if (routingDataSource == null) {
+            T result = loader.get();
+
+            cache.accept(result);
+
+            return result;
+        }
+
+        boolean boundToReplica = routingDataSource.isBoundToReplica();
+        T result = routingDataSource.readFromPrimary(loader);
+
+        if (!boundToReplica) cache.accept(result);
+
+        return result;
+    }
+}
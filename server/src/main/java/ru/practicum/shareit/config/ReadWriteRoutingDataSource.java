@@ -0,0 +1,132 @@
+package ru.practicum.shareit.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private final ThreadLocal<Boolean> forcePrimary = new ThreadLocal<>();
+    private final Object lookupKeyResource = new Object();
+    private final DataSource primary;
+    private final Map<String, DataSource> replicas;
+    private final Set<String> downReplicas = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final int healthCheckTimeoutSeconds;
+
+    public ReadWriteRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+                                      int healthCheckTimeoutSeconds) {
+        Map<Object, Object> targetDataSources = new HashMap<>(replicas);
+
+        targetDataSources.put(PRIMARY, primary);
+        setTargetDataSources(targetDataSources);
+        setDefaultTargetDataSource(primary);
+        this.primary = primary;
+        this.replicas = new LinkedHashMap<>(replicas);
+        this.healthCheckTimeoutSeconds = healthCheckTimeoutSeconds;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        String key = determineCurrentLookupKey();
+
+        if (!PRIMARY.equals(key)) {
+            try {
+                Connection connection = replicas.get(key).getConnection();
+
+                bindToTransaction(key);
+
+                return connection;
+            } catch (SQLException e) {
+                markDown(key, e);
+            }
+        }
+
+        Connection connection = primary.getConnection();
+
+        bindToTransaction(PRIMARY);
+
+        return connection;
+    }
+
+    public <T> T readFromPrimary(Supplier<T> loader) {
+        Boolean previous = forcePrimary.get();
+
+        forcePrimary.set(true);
+        try {
+            return loader.get();
+        } finally {
+            if (previous == null) forcePrimary.remove();
+        }
+    }
+
+    public boolean isBoundToReplica() {
+        Object key = TransactionSynchronizationManager.getResource(lookupKeyResource);
+
+        return key != null && !PRIMARY.equals(key);
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.datasource.health-check-interval:PT10S}")
+    public void checkReplicas() {
+        replicas.forEach((key, replica) -> {
+            try (Connection connection = replica.getConnection()) {
+                if (!connection.isValid(healthCheckTimeoutSeconds))
+                    throw new SQLException("Соединение не прошло проверку");
+
+                if (downReplicas.remove(key)) log.info("Реплика {} снова доступна", key);
+            } catch (SQLException e) {
+                markDown(key, e);
+            }
+        });
+    }
+
+    @Override
+    protected String determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || forcePrimary.get() != null)
+            return PRIMARY;
+
+        List<String> healthyReplicas = new ArrayList<>(replicas.keySet());
+
+        healthyReplicas.removeAll(downReplicas);
+
+        if (healthyReplicas.isEmpty()) return PRIMARY;
+
+        return healthyReplicas.get(Math.floorMod(nextReplica.getAndIncrement(), healthyReplicas.size()));
+    }
+
+    private void bindToTransaction(String key) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(lookupKeyResource)) return;
+
+        TransactionSynchronizationManager.bindResource(lookupKeyResource, key);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(lookupKeyResource);
+            }
+        });
+    }
+
+    private void markDown(String key, SQLException e) {
+        if (downReplicas.add(key))
+            log.warn("Реплика {} недоступна, чтение переключено на основную базу: {}", key, e.getMessage());
+    }
+}
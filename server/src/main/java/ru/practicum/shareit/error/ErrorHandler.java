@@ -1,12 +1,15 @@
 package ru.practicum.shareit.error;
 
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import ru.practicum.shareit.error.model.ErrorResponse;
+import ru.practicum.shareit.exception.EntityConflictException;
 import ru.practicum.shareit.exception.EntityForbiddenException;
 import ru.practicum.shareit.exception.EntityNotFoundException;
+import ru.practicum.shareit.exception.EntityPreconditionFailedException;
 import ru.practicum.shareit.exception.EntityValidationException;
 
 @RestControllerAdvice
@@ -29,4 +32,22 @@ public class ErrorHandler {
     public ErrorResponse handleEntityForbiddenException(final EntityForbiddenException e) {
         return new ErrorResponse(e.getMessage());
     }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleEntityConflictException(final EntityConflictException e) {
+        return new ErrorResponse(e.getMessage());
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleDataIntegrityViolationException(final DataIntegrityViolationException e) {
+        return new ErrorResponse("Запрос нарушает ограничение целостности данных");
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+    public ErrorResponse handleEntityPreconditionFailedException(final EntityPreconditionFailedException e) {
+        return new ErrorResponse(e.getMessage());
+    }
 }
@@ -0,0 +1,8 @@
+package ru.practicum.shareit.exception;
+
+public class EntityConflictException extends RuntimeException {
+
+    public EntityConflictException(String message) {
+        super(message);
+    }
+}
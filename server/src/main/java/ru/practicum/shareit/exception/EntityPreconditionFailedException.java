@@ -0,0 +1,8 @@
+package ru.practicum.shareit.exception;
+
+public class EntityPreconditionFailedException extends RuntimeException {
+
+    public EntityPreconditionFailedException(String message) {
+        super(message);
+    }
+}
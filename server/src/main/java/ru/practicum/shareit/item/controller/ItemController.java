@@ -2,13 +2,20 @@ package ru.practicum.shareit.item.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoOwn;
 import ru.practicum.shareit.item.dto.ItemDtoReq;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.utils.EntityTag;
+import ru.practicum.shareit.utils.PageCursor;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Slf4j
@@ -27,40 +34,63 @@ public class ItemController {
     }
 
     @GetMapping("/{itemId}")
-    public ItemDtoOwn getItem(@RequestHeader("X-Sharer-User-Id") Long userId, @PathVariable Long itemId) {
+    public ResponseEntity<ItemDtoOwn> getItem(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                              @PathVariable Long itemId) {
         log.info("Получен GET-запрос /items/{} с userId={}", itemId, userId);
 
-        return itemService.getItem(userId, itemId);
+        ItemDtoOwn itemDtoOwn = itemService.getItem(userId, itemId);
+
+        return EntityTag.toResponse(itemDtoOwn, itemDtoOwn.getVersion());
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public ItemAvailabilityDto getItemAvailability(@RequestHeader("X-Sharer-User-Id") Long userId,
+            @PathVariable Long itemId,
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            LocalDateTime from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            LocalDateTime to) {
+        log.info("Получен GET-запрос /items/{}/availability?from={}&to={} с userId={}", itemId, from, to, userId);
+
+        return itemService.getItemAvailability(userId, itemId, from, to);
     }
 
     @GetMapping
-    public List<ItemDtoOwn> findItemsByUser(@RequestHeader("X-Sharer-User-Id") Long userId,
+    public ResponseEntity<List<ItemDtoOwn>> findItemsByUser(@RequestHeader("X-Sharer-User-Id") Long userId,
             @RequestParam(name = "from", defaultValue = "0", required = false) Integer from,
-            @RequestParam(name = "size", defaultValue = "10", required = false) Integer size) {
-        log.info("Получен GET-запрос /items?from={}&size={} с userId={}", from, size, userId);
+            @RequestParam(name = "size", defaultValue = "10", required = false) Integer size,
+            @RequestParam(name = "cursor", required = false) String cursor) {
+        log.info("Получен GET-запрос /items?from={}&size={}&cursor={} с userId={}", from, size, cursor, userId);
 
-        List<ItemDtoOwn> itemsDtoOwner = itemService.findItemsByUser(userId);
-
-        return itemsDtoOwner.subList(from, Math.min((from + size), itemsDtoOwner.size()));
+        return PageCursor.toResponse(itemService.findItemsByUser(userId, from, size, cursor), size,
+                i -> PageCursor.of(i.getId()));
     }
 
     @GetMapping("/search")
-    public List<ItemDto> searchItems(@RequestHeader("X-Sharer-User-Id") Long userId, @RequestParam String text,
+    public ResponseEntity<List<ItemDto>> searchItems(@RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam String text,
             @RequestParam(name = "from", defaultValue = "0", required = false) Integer from,
-            @RequestParam(name = "size", defaultValue = "10", required = false) Integer size) {
-        log.info("Получен GET-запрос /items/search?text={}&from={}&size={} с userId={}", text, from, size, userId);
-
-        List<ItemDto> itemsDto = itemService.findItemsByText(userId, text);
+            @RequestParam(name = "size", defaultValue = "10", required = false) Integer size,
+            @RequestParam(name = "cursor", required = false) String cursor) {
+        log.info("Получен GET-запрос /items/search?text={}&from={}&size={}&cursor={} с userId={}", text, from, size,
+                cursor, userId);
 
-        return itemsDto.subList(from, Math.min((from + size), itemsDto.size()));
+        return PageCursor.toResponse(itemService.findItemsByText(userId, text, from, size, cursor), size,
+                i -> PageCursor.of(i.getId()));
     }
 
     @PatchMapping("/{itemId}")
-    public ItemDto editItem(@RequestHeader("X-Sharer-User-Id") Long userId, @PathVariable Long itemId,
-                            @RequestBody ItemDto itemDto) {
-        log.info("Получен PATCH-запрос /items/{} с телом={} и userId={}", itemId, itemDto, userId);
+    public ResponseEntity<ItemDto> editItem(@RequestHeader("X-Sharer-User-Id") Long userId, @PathVariable Long itemId,
+            @RequestBody ItemDto itemDto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.info("Получен PATCH-запрос /items/{} с телом={}, userId={} и If-Match={}", itemId, itemDto, userId,
+                ifMatch);
+
+        itemDto.setVersion(EntityTag.parseIfMatch(ifMatch));
+
+        ItemDto updatedItemDto = itemService.updateItem(userId, itemId, itemDto);
 
-        return itemService.updateItem(userId, itemId, itemDto);
+        return EntityTag.toResponse(updatedItemDto, updatedItemDto.getVersion());
     }
 
     @PostMapping("/{itemId}/comment")
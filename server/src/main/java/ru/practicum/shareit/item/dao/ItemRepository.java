@@ -1,19 +1,57 @@
 package ru.practicum.shareit.item.dao;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.item.dto.ItemDtoOwnReq;
+import ru.practicum.shareit.item.dto.ItemProjection;
 import ru.practicum.shareit.item.model.Item;
 
+import javax.persistence.LockModeType;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
-    List<Item> findItemsByOwnerId(Long id);
+    String ITEM_PROJECTION = "select new ru.practicum.shareit.item.dto.ItemProjection(i.id, i.name, i.description, " +
+            "i.available, o.id, o.name, o.email, r.id) " +
+            "from Item i join i.owner o left join i.request r ";
 
-    @Query("select i from Item i " +
+    String ITEM_DTO_OWN_REQ = "select new ru.practicum.shareit.item.dto.ItemDtoOwnReq(i.id, i.name, " +
+            "i.description, i.available, i.request.id) " +
+            "from Item i ";
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Item i where i.id = ?1")
+    Optional<Item> findItemByIdForUpdate(Long id);
+
+    List<Item> findItemsByOwnerIdOrderByIdAsc(Long id, Pageable pageable);
+
+    List<Item> findItemsByOwnerIdAndIdGreaterThanOrderByIdAsc(Long id, Long cursorId, Pageable pageable);
+
+    @Query(ITEM_PROJECTION +
             "where i.available = true and (upper(i.name) like upper(concat('%', ?1, '%')) " +
-            "or upper(i.description) like upper(concat('%', ?1, '%')))")
-    List<Item> findItemsByText(String text);
+            "or upper(i.description) like upper(concat('%', ?1, '%'))) " +
+            "order by case when upper(i.name) like upper(concat('%', ?1, '%')) then 0 else 1 end, i.id")
+    List<ItemProjection> findItemsByText(String text, Pageable pageable);
+
+    @Query(ITEM_PROJECTION + ", Item c " +
+            "where c.id = ?2 and i.available = true and (upper(i.name) like upper(concat('%', ?1, '%')) " +
+            "or upper(i.description) like upper(concat('%', ?1, '%'))) " +
+            "and (case when upper(i.name) like upper(concat('%', ?1, '%')) then 0 else 1 end " +
+            "> case when upper(c.name) like upper(concat('%', ?1, '%')) then 0 else 1 end " +
+            "or (case when upper(i.name) like upper(concat('%', ?1, '%')) then 0 else 1 end " +
+            "= case when upper(c.name) like upper(concat('%', ?1, '%')) then 0 else 1 end and i.id > c.id)) " +
+            "order by case when upper(i.name) like upper(concat('%', ?1, '%')) then 0 else 1 end, i.id")
+    List<ItemProjection> findItemsByTextAfterCursor(String text, Long cursorId, Pageable pageable);
+
+    @Query(ITEM_PROJECTION + "where i.id in ?1")
+    List<ItemProjection> findItemsByIdIn(List<Long> itemIds);
+
+    @Query(ITEM_DTO_OWN_REQ + "where i.request.id = ?1")
+    List<ItemDtoOwnReq> findItemsByRequestId(Long requestId);
 
-    List<Item> findItemsByRequestId(Long userId);
+    @Query(ITEM_DTO_OWN_REQ + "where i.request.id in ?1")
+    List<ItemDtoOwnReq> findItemsByRequestIdIn(List<Long> requestIds);
 }
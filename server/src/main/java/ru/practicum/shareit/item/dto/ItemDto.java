@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
 import ru.practicum.shareit.user.dto.UserDto;
 
@@ -22,4 +23,7 @@ public class ItemDto {
     private UserDto owner;
 
     private Long requestId;
-}
\ No newline at end of file
+
+    @JsonIgnore
+    private Long version;
+}
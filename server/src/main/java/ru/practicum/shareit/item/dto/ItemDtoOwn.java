@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
 import ru.practicum.shareit.booking.dto.BookingDtoOwn;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
@@ -32,4 +33,7 @@ public class ItemDtoOwn {
     private BookingDtoOwn nextBooking;
 
     private List<CommentDto> comments;
+
+    @JsonIgnore
+    private Long version;
 }
@@ -4,12 +4,13 @@ import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.item.dto.ItemDto;
-import ru.practicum.shareit.item.dto.ItemDtoOwnReq;
 import ru.practicum.shareit.item.dto.ItemDtoOwn;
 import ru.practicum.shareit.item.dto.ItemDtoReq;
+import ru.practicum.shareit.item.dto.ItemProjection;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
+import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 
@@ -22,13 +23,21 @@ public interface ItemMapper {
     @Mapping(source = "item.request.id", target = "requestId")
     ItemDto toItemDto(Item item);
 
-    @Mapping(source = "item.request.id", target = "requestId")
-    ItemDtoOwnReq toItemDtoItemRequestOwn(Item item);
+    default ItemDto toItemDto(ItemProjection itemProjection) {
+        if (itemProjection == null) return null;
+
+        return ItemDto.builder().id(itemProjection.getId()).name(itemProjection.getName())
+                .description(itemProjection.getDescription()).available(itemProjection.getAvailable())
+                .owner(UserDto.builder().id(itemProjection.getOwnerId()).name(itemProjection.getOwnerName())
+                        .email(itemProjection.getOwnerEmail()).build())
+                .requestId(itemProjection.getRequestId()).build();
+    }
 
     @Mapping(source = "comments", target = "comments")
     ItemDtoOwn toItemDtoOwner(Item item, List<Comment> comments);
 
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(source = "itemDtoReq.name", target = "name")
     @Mapping(source = "user", target = "owner")
     Item toItem(ItemDtoReq itemDtoReq, User user);
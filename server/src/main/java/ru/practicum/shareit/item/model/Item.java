@@ -32,4 +32,7 @@ public class Item {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "request_id")
     private ItemRequest request;
-}
\ No newline at end of file
+
+    @Version
+    private Long version;
+}
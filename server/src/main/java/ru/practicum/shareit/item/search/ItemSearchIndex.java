@@ -0,0 +1,213 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.config.PrimaryReadTemplate;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemSearchIndex {
+
+    private static final int GRAM_LENGTH = 3;
+
+    private final ItemRepository itemRepository;
+    private final PrimaryReadTemplate primaryReadTemplate;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<Long, IndexedItem> items = new TreeMap<>();
+    private final Map<String, LongPostingList> postings = new HashMap<>();
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            primaryReadTemplate.load(itemRepository::findAll, allItems -> {
+                items.clear();
+                postings.clear();
+                allItems.forEach(item -> add(item.getId(), IndexedItem.of(item)));
+                ready = true;
+
+                log.info("Построен индекс поиска вещей: {} вещей, {} триграмм", allItems.size(), postings.size());
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void index(Item item) {
+        Long id = item.getId();
+        IndexedItem indexedItem = IndexedItem.of(item);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(id, indexedItem);
+                }
+            });
+        } else {
+            apply(id, indexedItem);
+        }
+    }
+
+    private void apply(Long id, IndexedItem indexedItem) {
+        lock.writeLock().lock();
+        try {
+            remove(id);
+            add(id, indexedItem);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Long> search(String text, int from, int size, Long cursorId) {
+        String query = normalize(text);
+        List<Long> nameMatches = new ArrayList<>();
+        List<Long> descriptionMatches = new ArrayList<>();
+        List<Long> ranked = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            for (long id : findCandidates(query)) {
+                IndexedItem item = items.get(id);
+
+                if (!item.available) continue;
+                if (item.name.contains(query)) {
+                    nameMatches.add(id);
+                } else if (item.description.contains(query)) {
+                    descriptionMatches.add(id);
+                }
+            }
+
+            if (cursorId == null) {
+                ranked.addAll(nameMatches);
+                ranked.addAll(descriptionMatches);
+                ranked = ranked.subList(Math.min(from, ranked.size()), ranked.size());
+            } else {
+                IndexedItem cursorItem = items.get(cursorId);
+
+                if (cursorItem == null) return Collections.emptyList();
+                if (cursorItem.name.contains(query)) {
+                    ranked.addAll(tailAfter(nameMatches, cursorId));
+                    ranked.addAll(descriptionMatches);
+                } else {
+                    ranked.addAll(tailAfter(descriptionMatches, cursorId));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return new ArrayList<>(ranked.subList(0, Math.min(size, ranked.size())));
+    }
+
+    private long[] findCandidates(String query) {
+        if (query.length() < GRAM_LENGTH) return items.keySet().stream().mapToLong(Long::longValue).toArray();
+
+        List<LongPostingList> queryPostings = new ArrayList<>();
+
+        for (String gram : toGrams(query)) {
+            LongPostingList postingList = postings.get(gram);
+
+            if (postingList == null) return new long[0];
+            queryPostings.add(postingList);
+        }
+        queryPostings.sort(Comparator.comparingInt(LongPostingList::size));
+
+        long[] candidates = queryPostings.get(0).toArray();
+
+        for (int i = 1; i < queryPostings.size() && candidates.length > 0; i++) {
+            candidates = queryPostings.get(i).retainAll(candidates);
+        }
+
+        return candidates;
+    }
+
+    private void add(Long id, IndexedItem indexedItem) {
+        items.put(id, indexedItem);
+        indexedItem.grams().forEach(gram -> postings.computeIfAbsent(gram, g -> new LongPostingList()).add(id));
+    }
+
+    private void remove(Long id) {
+        IndexedItem indexedItem = items.remove(id);
+
+        if (indexedItem == null) return;
+
+        for (String gram : indexedItem.grams()) {
+            LongPostingList postingList = postings.get(gram);
+
+            postingList.remove(id);
+            if (postingList.isEmpty()) postings.remove(gram);
+        }
+    }
+
+    private static List<Long> tailAfter(List<Long> sortedIds, Long id) {
+        int position = Collections.binarySearch(sortedIds, id);
+
+        return sortedIds.subList(position >= 0 ? position + 1 : -position - 1, sortedIds.size());
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> toGrams(String text) {
+        Set<String> grams = new HashSet<>();
+
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+
+        return grams;
+    }
+
+    @AllArgsConstructor
+    private static class IndexedItem {
+
+        private final String name;
+
+        private final String description;
+
+        private final boolean available;
+
+        private static IndexedItem of(Item item) {
+            return new IndexedItem(normalize(item.getName()), normalize(item.getDescription()),
+                    Boolean.TRUE.equals(item.getAvailable()));
+        }
+
+        private Set<String> grams() {
+            Set<String> grams = toGrams(name);
+
+            grams.addAll(toGrams(description));
+
+            return grams;
+        }
+    }
+}
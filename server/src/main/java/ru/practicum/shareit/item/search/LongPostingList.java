@@ -0,0 +1,75 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Arrays;
+
+class LongPostingList {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private int size;
+
+    void add(long id) {
+        if (size > 0 && ids[size - 1] < id) {
+            ensureCapacity();
+            ids[size++] = id;
+            return;
+        }
+
+        int position = Arrays.binarySearch(ids, 0, size, id);
+
+        if (position >= 0) return;
+
+        position = -position - 1;
+        ensureCapacity();
+        System.arraycopy(ids, position, ids, position + 1, size - position);
+        ids[position] = id;
+        size++;
+    }
+
+    void remove(long id) {
+        int position = Arrays.binarySearch(ids, 0, size, id);
+
+        if (position < 0) return;
+
+        System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+        size--;
+
+        if (size > INITIAL_CAPACITY && size < ids.length / 4) ids = Arrays.copyOf(ids, ids.length / 2);
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long[] toArray() {
+        return Arrays.copyOf(ids, size);
+    }
+
+    long[] retainAll(long[] sortedIds) {
+        long[] result = new long[Math.min(size, sortedIds.length)];
+        int count = 0;
+
+        for (int i = 0, j = 0; i < size && j < sortedIds.length; ) {
+            if (ids[i] < sortedIds[j]) {
+                i++;
+            } else if (ids[i] > sortedIds[j]) {
+                j++;
+            } else {
+                result[count++] = ids[i];
+                i++;
+                j++;
+            }
+        }
+
+        return Arrays.copyOf(result, count);
+    }
+
+    private void ensureCapacity() {
+        if (size == ids.length) ids = Arrays.copyOf(ids, ids.length * 2);
+    }
+}
@@ -1,10 +1,12 @@
 package ru.practicum.shareit.item.service;
 
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoOwn;
 import ru.practicum.shareit.item.dto.ItemDtoReq;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
@@ -13,9 +15,11 @@ public interface ItemService {
 
     ItemDtoOwn getItem(Long userId, Long itemId);
 
-    List<ItemDtoOwn> findItemsByUser(Long userId);
+    ItemAvailabilityDto getItemAvailability(Long userId, Long itemId, LocalDateTime from, LocalDateTime to);
 
-    List<ItemDto> findItemsByText(Long userId, String text);
+    List<ItemDtoOwn> findItemsByUser(Long userId, Integer from, Integer size, String cursor);
+
+    List<ItemDto> findItemsByText(Long userId, String text, Integer from, Integer size, String cursor);
 
     ItemDto updateItem(Long userId, Long itemId, ItemDto itemDto);
 
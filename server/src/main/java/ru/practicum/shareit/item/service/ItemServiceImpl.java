@@ -3,31 +3,48 @@ package ru.practicum.shareit.item.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dao.BookingRepository;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingInterval;
+import ru.practicum.shareit.booking.service.BookingIntervalIndex;
+import ru.practicum.shareit.booking.service.BookingTimelineCache;
 import ru.practicum.shareit.exception.EntityValidationException;
 import ru.practicum.shareit.item.dao.CommentRepository;
 import ru.practicum.shareit.item.dao.ItemRepository;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoOwn;
 import ru.practicum.shareit.item.dto.ItemDtoReq;
+import ru.practicum.shareit.item.dto.ItemProjection;
+import ru.practicum.shareit.item.dto.TimeIntervalDto;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.request.dao.ItemRequestRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.dao.UserRepository;
 import ru.practicum.shareit.exception.EntityForbiddenException;
 import ru.practicum.shareit.exception.EntityNotFoundException;
+import ru.practicum.shareit.exception.EntityPreconditionFailedException;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.utils.OffsetPageRequest;
+import ru.practicum.shareit.utils.OptimisticLockRetrier;
+import ru.practicum.shareit.utils.PageCursor;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -35,6 +52,8 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ItemServiceImpl implements ItemService {
 
+    private static final int AVAILABILITY_DEFAULT_DAYS = 30;
+
     private final ItemRepository itemRepository;
     private final ItemMapper itemMapper;
     private final UserRepository userRepository;
@@ -43,8 +62,13 @@ public class ItemServiceImpl implements ItemService {
     private final CommentRepository commentRepository;
     private final CommentMapper commentMapper;
     private final ItemRequestRepository itemRequestRepository;
+    private final ItemSearchIndex itemSearchIndex;
+    private final BookingTimelineCache bookingTimelineCache;
+    private final OptimisticLockRetrier optimisticLockRetrier;
+    private final BookingIntervalIndex bookingIntervalIndex;
 
     @Override
+    @Transactional
     public ItemDto createItem(Long userId, ItemDtoReq itemDtoReq) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new EntityNotFoundException("Попытка добавить вещь несуществующим владельцем"));
@@ -59,10 +83,15 @@ public class ItemServiceImpl implements ItemService {
             item.setRequest(itemRequest);
         }
 
-        return itemMapper.toItemDto(itemRepository.save(item));
+        Item savedItem = itemRepository.save(item);
+
+        itemSearchIndex.index(savedItem);
+
+        return itemMapper.toItemDto(savedItem);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ItemDtoOwn getItem(Long userId, Long itemId) {
         if (!userRepository.existsById(userId))
             throw new EntityNotFoundException("Попытка получить вещь несуществующим владельцем");
@@ -77,23 +106,109 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
-    public List<ItemDtoOwn> findItemsByUser(Long userId) {
-        return itemRepository.findItemsByOwnerId(userId).stream().map(i ->
-                itemMapper.toItemDtoOwner(i, commentRepository.findAllByItemId(i.getId())))
-                .peek(this::addLastAndNextBookingsToItemDtoOwner).sorted(Comparator.comparing(ItemDtoOwn::getId))
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public ItemAvailabilityDto getItemAvailability(Long userId, Long itemId, LocalDateTime from, LocalDateTime to) {
+        if (!userRepository.existsById(userId))
+            throw new EntityNotFoundException("Попытка получить календарь вещи несуществующим пользователем");
+
+        Item item = itemRepository.findById(itemId)
+                .orElseThrow(() -> new EntityNotFoundException("Попытка получить календарь несуществующей вещи"));
+        LocalDateTime start = from == null ? LocalDateTime.now() : from;
+        LocalDateTime end = to == null ? start.plusDays(AVAILABILITY_DEFAULT_DAYS) : to;
+
+        if (!start.isBefore(end))
+            throw new EntityValidationException("Некорректный период календаря");
+
+        List<TimeIntervalDto> busy = new ArrayList<>();
+        List<TimeIntervalDto> free = new ArrayList<>();
+
+        if (!item.getAvailable()) {
+            busy.add(new TimeIntervalDto(start, end));
+
+            return new ItemAvailabilityDto(itemId, start, end, busy, free);
+        }
+
+        for (BookingInterval interval : bookingIntervalIndex.findOverlapping(itemId, start, end)) {
+            LocalDateTime busyStart = interval.getStart().isBefore(start) ? start : interval.getStart();
+            LocalDateTime busyEnd = interval.getEnd().isAfter(end) ? end : interval.getEnd();
+            TimeIntervalDto lastBusy = busy.isEmpty() ? null : busy.get(busy.size() - 1);
+
+            if (lastBusy != null && !busyStart.isAfter(lastBusy.getEnd())) {
+                if (busyEnd.isAfter(lastBusy.getEnd())) lastBusy.setEnd(busyEnd);
+            } else {
+                busy.add(new TimeIntervalDto(busyStart, busyEnd));
+            }
+        }
+
+        LocalDateTime freeStart = start;
+
+        for (TimeIntervalDto busyInterval : busy) {
+            if (busyInterval.getStart().isAfter(freeStart)) {
+                free.add(new TimeIntervalDto(freeStart, busyInterval.getStart()));
+            }
+            freeStart = busyInterval.getEnd();
+        }
+        if (freeStart.isBefore(end)) free.add(new TimeIntervalDto(freeStart, end));
+
+        return new ItemAvailabilityDto(itemId, start, end, busy, free);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ItemDtoOwn> findItemsByUser(Long userId, Integer from, Integer size, String cursor) {
+        List<Item> items = cursor == null
+                ? itemRepository.findItemsByOwnerIdOrderByIdAsc(userId, OffsetPageRequest.of(from, size))
+                : itemRepository.findItemsByOwnerIdAndIdGreaterThanOrderByIdAsc(userId,
+                PageCursor.decode(cursor).getId(), OffsetPageRequest.of(0, size));
+
+        if (items.isEmpty()) return Collections.emptyList();
+
+        List<Long> itemIds = items.stream().map(Item::getId).collect(Collectors.toList());
+        Map<Long, List<Comment>> commentsByItemId = commentRepository.findAllByItemIdIn(itemIds).stream()
+                .collect(Collectors.groupingBy(c -> c.getItem().getId()));
+        Map<Long, Booking> lastBookingsByItemId = new HashMap<>();
+        Map<Long, Booking> nextBookingsByItemId = new HashMap<>();
+        LocalDateTime now = LocalDateTime.now();
+
+        for (Booking booking : bookingRepository.findLastAndNextBookingsByItemIds(itemIds, now,
+                BookingStatus.APPROVED)) {
+            (booking.getStart().isBefore(now) ? lastBookingsByItemId : nextBookingsByItemId)
+                    .putIfAbsent(booking.getItem().getId(), booking);
+        }
+
+        return items.stream().map(i -> {
+            ItemDtoOwn itemDtoOwn = itemMapper.toItemDtoOwner(i, commentsByItemId.getOrDefault(i.getId(),
+                    Collections.emptyList()));
+
+            itemDtoOwn.setLastBooking(bookingMapper.toBookingDtoOwner(lastBookingsByItemId.get(i.getId())));
+            itemDtoOwn.setNextBooking(bookingMapper.toBookingDtoOwner(nextBookingsByItemId.get(i.getId())));
+
+            return itemDtoOwn;
+        }).collect(Collectors.toList());
     }
 
     @Override
-    public List<ItemDto> findItemsByText(Long userId, String text) {
+    @Transactional(readOnly = true)
+    public List<ItemDto> findItemsByText(Long userId, String text, Integer from, Integer size, String cursor) {
         List<ItemDto> itemDtos = Collections.emptyList();
 
         if (!userRepository.existsById(userId))
             throw new EntityNotFoundException("Попытка поиска вещи несуществующим пользователем");
 
-        if (!text.isBlank())
-            itemDtos = itemRepository.findItemsByText(text).stream()
-                    .map(itemMapper::toItemDto).collect(Collectors.toList());
+        if (!text.isBlank()) {
+            Long cursorId = cursor == null ? null : PageCursor.decode(cursor).getId();
+            List<ItemProjection> items;
+
+            if (itemSearchIndex.isReady()) {
+                items = findItemsByIds(itemSearchIndex.search(text, from, size, cursorId));
+            } else {
+                items = cursorId == null
+                        ? itemRepository.findItemsByText(text, OffsetPageRequest.of(from, size))
+                        : itemRepository.findItemsByTextAfterCursor(text, cursorId, OffsetPageRequest.of(0, size));
+            }
+
+            itemDtos = items.stream().map(itemMapper::toItemDto).collect(Collectors.toList());
+        }
 
         return itemDtos;
     }
@@ -119,23 +234,32 @@ public class ItemServiceImpl implements ItemService {
         if (!userRepository.existsById(userId))
             throw new EntityNotFoundException("Попытка отредактировать вещь несуществующим владельцем");
 
-        Item item = itemRepository.findById(itemId)
-                .orElseThrow(() -> new EntityNotFoundException("Попытка отредактировать несуществующую вещь"));
+        return optimisticLockRetrier.execute(() -> {
+            Item item = itemRepository.findById(itemId)
+                    .orElseThrow(() -> new EntityNotFoundException("Попытка отредактировать несуществующую вещь"));
 
-        if (!Objects.equals(userId, item.getOwner().getId())) {
-            String textError = "Попытка отредактировать вещь пользователем не являющимся её владельцем";
+            if (!Objects.equals(userId, item.getOwner().getId())) {
+                String textError = "Попытка отредактировать вещь пользователем не являющимся её владельцем";
 
-            log.debug(textError);
-            throw new EntityForbiddenException(textError);
-        }
-        if (name != null) item.setName(name);
-        if (description != null) item.setDescription(description);
-        if (available != null) item.setAvailable(available);
+                log.debug(textError);
+                throw new EntityForbiddenException(textError);
+            }
+            if (itemDto.getVersion() != null && !itemDto.getVersion().equals(item.getVersion()))
+                throw new EntityPreconditionFailedException("Вещь была изменена другим запросом");
+            if (name != null) item.setName(name);
+            if (description != null) item.setDescription(description);
+            if (available != null) item.setAvailable(available);
+
+            Item savedItem = itemRepository.saveAndFlush(item);
+
+            itemSearchIndex.index(savedItem);
 
-        return itemMapper.toItemDto(itemRepository.save(item));
+            return itemMapper.toItemDto(savedItem);
+        });
     }
 
     @Override
+    @Transactional
     public CommentDto addComment(Long userId, Long itemId, CommentDto commentDto) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new EntityNotFoundException("Попытка добавить комментарий несуществующим " +
@@ -155,12 +279,20 @@ public class ItemServiceImpl implements ItemService {
                 LocalDateTime.now())));
     }
 
+    private List<ItemProjection> findItemsByIds(List<Long> itemIds) {
+        if (itemIds.isEmpty()) return Collections.emptyList();
+
+        Map<Long, ItemProjection> itemsById = itemRepository.findItemsByIdIn(itemIds).stream()
+                .collect(Collectors.toMap(ItemProjection::getId, Function.identity()));
+
+        return itemIds.stream().map(itemsById::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
     private void addLastAndNextBookingsToItemDtoOwner(ItemDtoOwn itemDtoOwn) {
-        itemDtoOwn.setLastBooking(bookingMapper.toBookingDtoOwner(bookingRepository
-                .findFirstByItemIdAndStartBeforeAndStatusOrderByStartDesc(itemDtoOwn.getId(), LocalDateTime.now(),
-                        BookingStatus.APPROVED)));
-        itemDtoOwn.setNextBooking(bookingMapper.toBookingDtoOwner(bookingRepository
-                .findFirstByItemIdAndStartAfterAndStatusOrderByStartAsc(itemDtoOwn.getId(), LocalDateTime.now(),
-                        BookingStatus.APPROVED)));
+        BookingTimelineCache.BookingTimeline timeline = bookingTimelineCache.getTimeline(itemDtoOwn.getId(),
+                LocalDateTime.now());
+
+        itemDtoOwn.setLastBooking(timeline.getLastBooking());
+        itemDtoOwn.setNextBooking(timeline.getNextBooking());
     }
-}
\ No newline at end of file
+}
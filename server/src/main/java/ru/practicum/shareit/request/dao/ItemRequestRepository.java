@@ -1,11 +1,22 @@
 package ru.practicum.shareit.request.dao;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.request.dto.ItemRequestProjection;
 import ru.practicum.shareit.request.model.ItemRequest;
 
 import java.util.List;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long>  {
 
-    List<ItemRequest> findRequestsByRequestorId(Long userId);
+    String ITEM_REQUEST_PROJECTION = "select new ru.practicum.shareit.request.dto.ItemRequestProjection(r.id, " +
+            "r.description, r.created) " +
+            "from ItemRequest r ";
+
+    @Query(ITEM_REQUEST_PROJECTION + "where r.requestor.id = ?1")
+    List<ItemRequestProjection> findRequestsByRequestorId(Long userId);
+
+    @Query(ITEM_REQUEST_PROJECTION + "where r.requestor.id <> ?1 order by r.created desc, r.id desc")
+    List<ItemRequestProjection> findRequestsByRequestorIdNotOrderByCreatedDescIdDesc(Long userId, Pageable pageable);
 }
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.request.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+@AllArgsConstructor
+@Getter
+@ToString
+public class ItemRequestProjection {
+
+    private Long id;
+
+    private String description;
+
+    private LocalDateTime created;
+}
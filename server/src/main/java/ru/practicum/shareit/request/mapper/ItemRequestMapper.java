@@ -5,6 +5,7 @@ import ru.practicum.shareit.item.dto.ItemDtoOwnReq;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestDtoOwn;
+import ru.practicum.shareit.request.dto.ItemRequestProjection;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.mapper.UserMapper;
 
@@ -17,4 +18,6 @@ public interface ItemRequestMapper {
     ItemRequestDto toItemRequestDto(ItemRequest itemRequest);
 
     ItemRequestDtoOwn toItemRequestDtoOwn(ItemRequest itemRequest, List<ItemDtoOwnReq> items);
+
+    ItemRequestDtoOwn toItemRequestDtoOwn(ItemRequestProjection itemRequestProjection, List<ItemDtoOwnReq> items);
 }
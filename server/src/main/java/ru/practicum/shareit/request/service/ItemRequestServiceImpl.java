@@ -2,22 +2,25 @@ package ru.practicum.shareit.request.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.EntityNotFoundException;
+import ru.practicum.shareit.item.dto.ItemDtoOwnReq;
 import ru.practicum.shareit.item.dao.ItemRepository;
-import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.request.dao.ItemRequestRepository;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.dto.ItemRequestDtoOwn;
+import ru.practicum.shareit.request.dto.ItemRequestProjection;
 import ru.practicum.shareit.user.dao.UserRepository;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.utils.OffsetPageRequest;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -29,9 +32,9 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRequestMapper itemRequestMapper;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
-    private final ItemMapper itemMapper;
 
     @Override
+    @Transactional
     public ItemRequestDto addRequest(Long userId, ItemRequestDto itemRequestDto) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new EntityNotFoundException("Попытка добавить новый запрос вещи несуществующим " +
@@ -42,37 +45,43 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ItemRequestDtoOwn> findItemRequestsByUser(Long userId) {
         if (!userRepository.existsById(userId))
             throw new EntityNotFoundException("Попытка получить список запросов вещей несуществующим пользователем");
 
-        return itemRequestRepository.findRequestsByRequestorId(userId).stream().map(ir ->
-                        itemRequestMapper.toItemRequestDtoOwn(ir, itemRepository.findItemsByRequestId(ir.getId()).stream()
-                                .map(itemMapper::toItemDtoItemRequestOwn).collect(Collectors.toList())))
-                .collect(Collectors.toList());
+        return toItemRequestDtosOwn(itemRequestRepository.findRequestsByRequestorId(userId));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ItemRequestDtoOwn> findItemRequestsByAnotherUser(Long userId, Integer offset, Integer limit) {
         if (!userRepository.existsById(userId))
             throw new EntityNotFoundException("Попытка получить список запросов вещей несуществующим пользователем");
 
-        return itemRequestRepository
-                .findAll(PageRequest.of(offset, limit, Sort.by("created").descending())).stream()
-                .filter(ir -> !ir.getRequestor().getId().equals(userId)).map(ir ->
-                        itemRequestMapper.toItemRequestDtoOwn(ir, itemRepository.findItemsByRequestId(ir.getId())
-                                .stream().map(itemMapper::toItemDtoItemRequestOwn).collect(Collectors.toList())))
-                .collect(Collectors.toList());
+        return toItemRequestDtosOwn(itemRequestRepository.findRequestsByRequestorIdNotOrderByCreatedDescIdDesc(userId,
+                OffsetPageRequest.of(offset, limit)));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ItemRequestDtoOwn getItemRequestById(Long userId, Long requestId) {
         if (!userRepository.existsById(userId))
             throw new EntityNotFoundException("Попытка получить список запросов вещей несуществующим пользователем");
 
         return itemRequestMapper.toItemRequestDtoOwn(itemRequestRepository.findById(requestId)
                         .orElseThrow(() -> new EntityNotFoundException("Попытка получить запрос несуществующей вещи")),
-                itemRepository.findItemsByRequestId(requestId).stream().map(itemMapper::toItemDtoItemRequestOwn)
-                        .collect(Collectors.toList()));
+                itemRepository.findItemsByRequestId(requestId));
+    }
+
+    private List<ItemRequestDtoOwn> toItemRequestDtosOwn(List<ItemRequestProjection> itemRequests) {
+        if (itemRequests.isEmpty()) return Collections.emptyList();
+
+        Map<Long, List<ItemDtoOwnReq>> itemsByRequestId = itemRepository.findItemsByRequestIdIn(itemRequests.stream()
+                        .map(ItemRequestProjection::getId).collect(Collectors.toList())).stream()
+                .collect(Collectors.groupingBy(ItemDtoOwnReq::getRequestId));
+
+        return itemRequests.stream().map(ir -> itemRequestMapper.toItemRequestDtoOwn(ir,
+                itemsByRequestId.getOrDefault(ir.getId(), Collections.emptyList()))).collect(Collectors.toList());
     }
 }
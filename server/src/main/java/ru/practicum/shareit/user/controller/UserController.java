@@ -2,9 +2,12 @@ package ru.practicum.shareit.user.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.utils.EntityTag;
 
 import java.util.List;
 
@@ -24,10 +27,12 @@ public class UserController {
     }
 
     @GetMapping("/{userId}")
-    public UserDto getUser(@PathVariable Long userId) {
+    public ResponseEntity<UserDto> getUser(@PathVariable Long userId) {
         log.info("Получен GET-запрос /users/{}", userId);
 
-        return userService.getUser(userId);
+        UserDto userDto = userService.getUser(userId);
+
+        return EntityTag.toResponse(userDto, userDto.getVersion());
     }
 
     @GetMapping
@@ -38,10 +43,15 @@ public class UserController {
     }
 
     @PatchMapping("/{userId}")
-    public UserDto updateUser(@PathVariable Long userId, @RequestBody UserDto userDto) {
-        log.info("Получен PATCH-запрос /users/{} с телом={}", userId, userDto);
+    public ResponseEntity<UserDto> updateUser(@PathVariable Long userId, @RequestBody UserDto userDto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.info("Получен PATCH-запрос /users/{} с телом={} и If-Match={}", userId, userDto, ifMatch);
+
+        userDto.setVersion(EntityTag.parseIfMatch(ifMatch));
+
+        UserDto updatedUserDto = userService.updateUser(userId, userDto);
 
-        return userService.updateUser(userId, userDto);
+        return EntityTag.toResponse(updatedUserDto, updatedUserDto.getVersion());
     }
 
     @DeleteMapping("/{userId}")
@@ -0,0 +1,6 @@
+package ru.practicum.shareit.user.dao;
+
+public interface UserExistenceRepository {
+
+    boolean existsById(Long id);
+}
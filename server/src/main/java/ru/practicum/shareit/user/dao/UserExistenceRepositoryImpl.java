@@ -0,0 +1,31 @@
+package ru.practicum.shareit.user.dao;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import ru.practicum.shareit.config.PrimaryReadTemplate;
+
+import javax.persistence.EntityManager;
+
+@RequiredArgsConstructor
+public class UserExistenceRepositoryImpl implements UserExistenceRepository {
+
+    private final EntityManager em;
+    private final CacheManager cacheManager;
+    private final PrimaryReadTemplate primaryReadTemplate;
+
+    @Override
+    public boolean existsById(Long id) {
+        Cache cache = cacheManager.getCache(UserRepository.USERS_CACHE);
+
+        if (cache != null && cache.get(id) != null) return true;
+
+        return primaryReadTemplate.load(() -> !em.createQuery("SELECT u.id FROM User u WHERE u.id = :id", Long.class)
+                .setParameter("id", id)
+                .setMaxResults(1)
+                .getResultList()
+                .isEmpty(), exists -> {
+            if (exists && cache != null) cache.put(id, true);
+        });
+    }
+}
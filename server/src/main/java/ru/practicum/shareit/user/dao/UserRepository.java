@@ -3,5 +3,10 @@ package ru.practicum.shareit.user.dao;
 import org.springframework.data.jpa.repository.JpaRepository;
 import ru.practicum.shareit.user.model.User;
 
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserExistenceRepository {
+
+    String USERS_CACHE = "users";
+
+    @Override
+    boolean existsById(Long id);
 }
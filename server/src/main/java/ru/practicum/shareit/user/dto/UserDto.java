@@ -1,5 +1,6 @@
 package ru.practicum.shareit.user.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
 
 @Builder
@@ -15,4 +16,7 @@ public class UserDto {
     private String name;
 
     private String email;
-}
\ No newline at end of file
+
+    @JsonIgnore
+    private Long version;
+}
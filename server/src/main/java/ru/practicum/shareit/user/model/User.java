@@ -19,4 +19,7 @@ public class User {
     private String name;
 
     private String email;
-}
\ No newline at end of file
+
+    @Version
+    private Long version;
+}
@@ -2,13 +2,20 @@ package ru.practicum.shareit.user.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import ru.practicum.shareit.user.dao.UserRepository;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.exception.EntityNotFoundException;
+import ru.practicum.shareit.exception.EntityPreconditionFailedException;
 import ru.practicum.shareit.exception.EntityValidationException;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.utils.OptimisticLockRetrier;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -20,54 +27,82 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final OptimisticLockRetrier optimisticLockRetrier;
+    private final CacheManager cacheManager;
 
     @Override
+    @Transactional
     public UserDto createUser(UserDto userDto) {
         return userMapper.toUserDto(userRepository.save(userMapper.toUser(userDto)));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public UserDto getUser(Long id) {
         return userMapper.toUserDto(userRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Попытка получить несуществующего пользователя")));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<UserDto> findAllUsers() {
         return userRepository.findAll().stream().map(userMapper::toUserDto).collect(Collectors.toList());
     }
 
     @Override
     public UserDto updateUser(Long id, UserDto userDto) {
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Попытка обновить несуществующего пользователя"));
-        String name = userDto.getName();
-        String email = userDto.getEmail();
+        return optimisticLockRetrier.execute(() -> {
+            User user = userRepository.findById(id)
+                    .orElseThrow(() -> new EntityNotFoundException("Попытка обновить несуществующего пользователя"));
+            String name = userDto.getName();
+            String email = userDto.getEmail();
 
-        if (name != null && name.isBlank()) {
-            String textError = "Имя пользователя не может быть пустым";
+            if (userDto.getVersion() != null && !userDto.getVersion().equals(user.getVersion()))
+                throw new EntityPreconditionFailedException("Пользователь был изменён другим запросом");
 
-            log.debug("Валидация не пройдена: " + textError);
-            throw new EntityValidationException(textError);
-        }
-        if (email != null && email.isBlank()) {
-            String textError = "Адрес электронной почты не может быть пустым";
+            if (name != null && name.isBlank()) {
+                String textError = "Имя пользователя не может быть пустым";
 
-            log.debug("Валидация не пройдена: " + textError);
-            throw new EntityValidationException(textError);
-        }
-        if (email != null) {
-            user.setEmail(email);
-        }
-        if (name != null) {
-            user.setName(name);
-        }
+                log.debug("Валидация не пройдена: " + textError);
+                throw new EntityValidationException(textError);
+            }
+            if (email != null && email.isBlank()) {
+                String textError = "Адрес электронной почты не может быть пустым";
+
+                log.debug("Валидация не пройдена: " + textError);
+                throw new EntityValidationException(textError);
+            }
+            if (email != null) {
+                user.setEmail(email);
+            }
+            if (name != null) {
+                user.setName(name);
+            }
 
-        return userMapper.toUserDto(userRepository.save(user));
+            return userMapper.toUserDto(userRepository.saveAndFlush(user));
+        });
     }
 
     @Override
+    @Transactional
     public void deleteUser(Long id) {
         userRepository.deleteById(id);
+        evictUserExistenceAfterCommit(id);
+    }
+
+    private void evictUserExistenceAfterCommit(Long id) {
+        Cache cache = cacheManager.getCache(UserRepository.USERS_CACHE);
+
+        if (cache == null) return;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.evict(id);
+                }
+            });
+        } else {
+            cache.evict(id);
+        }
     }
 }
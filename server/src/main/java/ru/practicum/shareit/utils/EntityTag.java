@@ -0,0 +1,52 @@
+package ru.practicum.shareit.utils;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+import ru.practicum.shareit.exception.EntityValidationException;
+
+public class EntityTag {
+
+    private static final String ANY = "*";
+
+    private static final String WEAK_PREFIX = "W/";
+
+    private static final char SEPARATOR = '-';
+
+    public static <T> ResponseEntity<T> toResponse(T body, Long version) {
+        if (version == null) return ResponseEntity.ok(body);
+
+        return ResponseEntity.ok().eTag(String.valueOf(version)).body(body);
+    }
+
+    public static String toRepresentationTag(String versionTag, byte[] content) {
+        String hash = DigestUtils.md5DigestAsHex(content);
+
+        if (versionTag == null || versionTag.isBlank()) return "\"" + hash + "\"";
+
+        return "\"" + unquote(versionTag) + SEPARATOR + hash + "\"";
+    }
+
+    public static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals(ANY)) return null;
+
+        String tag = unquote(ifMatch);
+        int separator = tag.indexOf(SEPARATOR);
+
+        if (separator > 0) tag = tag.substring(0, separator);
+
+        try {
+            return Long.valueOf(tag);
+        } catch (NumberFormatException e) {
+            throw new EntityValidationException(String.format("Некорректный заголовок If-Match: %s", ifMatch));
+        }
+    }
+
+    private static String unquote(String entityTag) {
+        String tag = entityTag.trim();
+
+        if (tag.startsWith(WEAK_PREFIX)) tag = tag.substring(WEAK_PREFIX.length());
+        if (tag.length() > 1 && tag.startsWith("\"") && tag.endsWith("\"")) tag = tag.substring(1, tag.length() - 1);
+
+        return tag;
+    }
+}
@@ -0,0 +1,56 @@
+package ru.practicum.shareit.utils;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.UrlPathHelper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+
+public class EntityTagFilter extends OncePerRequestFilter {
+
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+    private final List<String> pathPatterns;
+
+    public EntityTagFilter(String... pathPatterns) {
+        this.pathPatterns = List.of(pathPatterns);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!HttpMethod.GET.matches(request.getMethod())) return true;
+
+        String path = urlPathHelper.getPathWithinApplication(request);
+
+        return pathPatterns.stream().noneMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+
+        filterChain.doFilter(request, responseWrapper);
+
+        if (responseWrapper.getStatus() == HttpServletResponse.SC_OK) {
+            String entityTag = EntityTag.toRepresentationTag(responseWrapper.getHeader(HttpHeaders.ETAG),
+                    responseWrapper.getContentAsByteArray());
+
+            responseWrapper.setHeader(HttpHeaders.ETAG, entityTag);
+
+            if (new ServletWebRequest(request, responseWrapper).checkNotModified(entityTag)) return;
+        }
+
+        responseWrapper.copyBodyToResponse();
+    }
+}
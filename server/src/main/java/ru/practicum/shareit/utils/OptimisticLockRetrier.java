@@ -0,0 +1,39 @@
+package ru.practicum.shareit.utils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.exception.EntityConflictException;
+
+import java.util.function.Supplier;
+
+@Slf4j
+@Component
+public class OptimisticLockRetrier {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public OptimisticLockRetrier(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public <T> T execute(Supplier<T> update) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) return update.get();
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> update.get());
+            } catch (ObjectOptimisticLockingFailureException e) {
+                if (attempt == MAX_ATTEMPTS)
+                    throw new EntityConflictException("Данные были изменены другим запросом, повторите попытку");
+
+                log.debug("Конфликт версий при обновлении, попытка {} из {}", attempt, MAX_ATTEMPTS);
+            }
+        }
+    }
+}
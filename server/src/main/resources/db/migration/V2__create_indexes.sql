@@ -0,0 +1,13 @@
+CREATE INDEX IF NOT EXISTS idx_bookings_item_id_status_start_date ON bookings (item_id, status, start_date);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_id_start_date ON bookings (booker_id, start_date DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_items_owner_id ON items (owner_id);
+
+CREATE INDEX IF NOT EXISTS idx_items_request_id ON items (request_id);
+
+CREATE INDEX IF NOT EXISTS idx_comments_item_id ON comments (item_id);
+
+CREATE INDEX IF NOT EXISTS idx_requests_requestor_id_created_date ON requests (requestor_id, created_date);
+
+CREATE INDEX IF NOT EXISTS idx_requests_created_date_id ON requests (created_date DESC, id DESC);
@@ -0,0 +1,24 @@
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- Earlier versions could approve overlapping bookings of the same item. Keep the earliest approved booking of each
+-- overlapping group and reject the later ones, otherwise the constraint below cannot be created.
+DO $$
+DECLARE
+    booking RECORD;
+    rejected INTEGER := 0;
+BEGIN
+    FOR booking IN SELECT id, item_id, start_date, end_date FROM bookings WHERE status = 'APPROVED' ORDER BY id
+    LOOP
+        IF EXISTS (SELECT 1 FROM bookings b
+                   WHERE b.item_id = booking.item_id AND b.status = 'APPROVED' AND b.id < booking.id
+                     AND tsrange(b.start_date, b.end_date) && tsrange(booking.start_date, booking.end_date)) THEN
+            UPDATE bookings SET status = 'REJECTED' WHERE id = booking.id;
+            rejected := rejected + 1;
+        END IF;
+    END LOOP;
+
+    RAISE NOTICE 'Отклонено пересекающихся подтверждённых бронирований: %', rejected;
+END $$;
+
+ALTER TABLE bookings ADD CONSTRAINT bookings_approved_no_overlap
+    EXCLUDE USING GIST (item_id WITH =, tsrange(start_date, end_date) WITH &&) WHERE (status = 'APPROVED');
@@ -6,6 +6,7 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
@@ -83,7 +84,7 @@ public class BookingControllerTest {
                 .booker(UserDto.builder().id(1L).name("updateName").email("updateName@user.com").build())
                 .status(BookingStatus.REJECTED).build();
 
-        Mockito.when(bookingService.approveOrRejectBooking(userId, bookingId, approved)).thenReturn(bookingDto);
+        Mockito.when(bookingService.approveOrRejectBooking(userId, bookingId, approved, null)).thenReturn(bookingDto);
 
         mockMvc.perform(MockMvcRequestBuilders.patch("/bookings/" + bookingId)
                         .header("X-Sharer-User-Id", userId)
@@ -93,10 +94,25 @@ public class BookingControllerTest {
                 .andExpect(MockMvcResultMatchers.content().json(objectMapper.writeValueAsString(bookingDto)));
 
         Mockito.verify(bookingService, Mockito.times(1)).approveOrRejectBooking(userId,
-                bookingId, approved);
+                bookingId, approved, null);
         Mockito.verifyNoMoreInteractions(bookingService);
     }
 
+    @Test
+    void approveOrRejectBooking_returnsConflictOnOverlapConstraintViolation() throws Exception {
+        Long userId = 4L;
+        Long bookingId = 5L;
+
+        Mockito.when(bookingService.approveOrRejectBooking(userId, bookingId, true, null))
+                .thenThrow(new DataIntegrityViolationException("bookings_approved_no_overlap"));
+
+        mockMvc.perform(MockMvcRequestBuilders.patch("/bookings/" + bookingId)
+                        .header("X-Sharer-User-Id", userId)
+                        .param("approved", "true"))
+                .andExpect(MockMvcResultMatchers.status().isConflict())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.error").exists());
+    }
+
     @Test
     void getBookingById() throws Exception {
         Long userId = 1L;
@@ -140,7 +156,7 @@ public class BookingControllerTest {
                 .booker(UserDto.builder().id(userId).name("updateName").email("updateName@user.com").build())
                 .status(BookingStatus.REJECTED).build());
 
-        Mockito.when(bookingService.getAllBookingsByUserId(userId, state)).thenReturn(bookingsDto);
+        Mockito.when(bookingService.getAllBookingsByUserId(userId, state, from, size, null)).thenReturn(bookingsDto);
 
         mockMvc.perform(MockMvcRequestBuilders.get("/bookings")
                         .header("X-Sharer-User-Id", userId)
@@ -151,7 +167,7 @@ public class BookingControllerTest {
                 .andExpect(MockMvcResultMatchers.status().isOk())
                 .andExpect(MockMvcResultMatchers.content().json(objectMapper.writeValueAsString(bookingsDto)));
 
-        Mockito.verify(bookingService, Mockito.times(1)).getAllBookingsByUserId(userId, state);
+        Mockito.verify(bookingService, Mockito.times(1)).getAllBookingsByUserId(userId, state, from, size, null);
         Mockito.verifyNoMoreInteractions(bookingService);
     }
 
@@ -172,7 +188,8 @@ public class BookingControllerTest {
                 .booker(UserDto.builder().id(1L).name("updateName").email("updateName@user.com").build())
                 .status(BookingStatus.REJECTED).build());
 
-        Mockito.when(bookingService.getAllBookingsForAllItemsByUserId(userId, state)).thenReturn(bookingsDto);
+        Mockito.when(bookingService.getAllBookingsForAllItemsByUserId(userId, state, from, size, null))
+                .thenReturn(bookingsDto);
 
         mockMvc.perform(MockMvcRequestBuilders.get("/bookings/owner")
                         .header("X-Sharer-User-Id", userId)
@@ -184,7 +201,7 @@ public class BookingControllerTest {
                 .andExpect(MockMvcResultMatchers.content().json(objectMapper.writeValueAsString(bookingsDto)));
 
         Mockito.verify(bookingService, Mockito.times(1))
-                .getAllBookingsForAllItemsByUserId(userId, state);
+                .getAllBookingsForAllItemsByUserId(userId, state, from, size, null);
         Mockito.verifyNoMoreInteractions(bookingService);
     }
 }
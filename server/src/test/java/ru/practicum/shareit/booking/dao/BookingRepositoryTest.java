@@ -5,23 +5,28 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.config.PrimaryReadTemplate;
 import ru.practicum.shareit.item.dao.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.dao.ItemRequestRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.dao.UserRepository;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.utils.OffsetPageRequest;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 @DataJpaTest
+@Import(PrimaryReadTemplate.class)
 @TestPropertySource(locations = "classpath:application-test.yml")
 public class BookingRepositoryTest {
 
@@ -70,7 +75,8 @@ public class BookingRepositoryTest {
                                 .requestor(user4).created(today.minusDays(1)).build())).build()))
                 .booker(user4).status(BookingStatus.APPROVED).build());
 
-        List<Booking> actualBookings = bookingRepository.findAllBookingsForAllItemsByUserId(user1.getId());
+        List<Booking> actualBookings = bookingRepository.findAllBookingsForAllItemsByUserId(user1.getId(),
+                OffsetPageRequest.of(0, 10));
 
         Booking expectedBooking1 = Booking.builder().start(actualBooking1.getStart()).end(actualBooking1.getEnd())
                 .item(Item.builder().name(actualBooking1.getItem().getName())
@@ -148,13 +154,125 @@ public class BookingRepositoryTest {
         Assertions.assertNotNull(actualBookings.get(1).getItem().getRequest().getRequestor().getId());
         assertThat(actualBookings.get(0)).usingRecursiveComparison()
                 .ignoringFields("id", "booker.id", "item.id", "item.owner.id", "item.request.id",
-                        "item.request.requestor.id").isEqualTo(expectedBookings.get(0));
+                        "item.request.requestor.id").ignoringFieldsMatchingRegexes(".*version")
+                .isEqualTo(expectedBookings.get(0));
         assertThat(actualBookings.get(1)).usingRecursiveComparison()
                 .ignoringFields("id", "booker.id", "item.id", "item.owner.id", "item.request.id",
-                        "item.request.requestor.id").isEqualTo(expectedBookings.get(1));
+                        "item.request.requestor.id").ignoringFieldsMatchingRegexes(".*version")
+                .isEqualTo(expectedBookings.get(1));
         assertThat(actualBookings.get(2)).usingRecursiveComparison()
                 .ignoringFields("id", "booker.id", "item.id", "item.owner.id", "item.request.id",
-                        "item.request.requestor.id").isEqualTo(expectedBookings.get(2));
+                        "item.request.requestor.id").ignoringFieldsMatchingRegexes(".*version")
+                .isEqualTo(expectedBookings.get(2));
+    }
+
+    @Test
+    @Transactional
+    void findAllBookingsForAllItemsByUserId_withOffsetShouldReturnPage() {
+        LocalDateTime today = LocalDateTime.of(2023, 12, 2, 17, 0);
+
+        User user1 = userRepository.save(User.builder().name("user1").email("user1@user.com").build());
+        User user2 = userRepository.save(User.builder().name("user2").email("user2@user.com").build());
+        Item item = itemRepository.save(Item.builder().name("Дрель").description("Электроинструмент")
+                .available(true).owner(user1).build());
+
+        Booking actualBooking1 = bookingRepository.save(Booking.builder().start(today.plusDays(1))
+                .end(today.plusDays(2)).item(item).booker(user2).status(BookingStatus.APPROVED).build());
+        Booking actualBooking2 = bookingRepository.save(Booking.builder().start(today.plusDays(3))
+                .end(today.plusDays(4)).item(item).booker(user2).status(BookingStatus.APPROVED).build());
+        bookingRepository.save(Booking.builder().start(today.plusDays(5)).end(today.plusDays(6)).item(item)
+                .booker(user2).status(BookingStatus.APPROVED).build());
+
+        List<Booking> actualBookings = bookingRepository.findAllBookingsForAllItemsByUserId(user1.getId(),
+                OffsetPageRequest.of(1, 2));
+
+        Assertions.assertEquals(2, actualBookings.size());
+        Assertions.assertEquals(actualBooking2.getId(), actualBookings.get(0).getId());
+        Assertions.assertEquals(actualBooking1.getId(), actualBookings.get(1).getId());
+    }
+
+    @Test
+    @Transactional
+    void findAllBookingsForAllItemsByUserId_withOffsetNotMultipleOfSizeShouldReturnPage() {
+        LocalDateTime today = LocalDateTime.of(2023, 12, 2, 17, 0);
+
+        User user1 = userRepository.save(User.builder().name("user1").email("user1@user.com").build());
+        User user2 = userRepository.save(User.builder().name("user2").email("user2@user.com").build());
+        Item item = itemRepository.save(Item.builder().name("Дрель").description("Электроинструмент")
+                .available(true).owner(user1).build());
+        List<Booking> savedBookings = new ArrayList<>();
+
+        for (int i = 0; i < 5; i++) {
+            savedBookings.add(bookingRepository.save(Booking.builder().start(today.plusDays(2 * i + 1))
+                    .end(today.plusDays(2 * i + 2)).item(item).booker(user2).status(BookingStatus.APPROVED).build()));
+        }
+
+        List<Booking> actualBookings = bookingRepository.findAllBookingsForAllItemsByUserId(user1.getId(),
+                OffsetPageRequest.of(3, 2));
+
+        Assertions.assertEquals(3, OffsetPageRequest.of(3, 2).getOffset());
+        Assertions.assertEquals(2, actualBookings.size());
+        Assertions.assertEquals(savedBookings.get(1).getId(), actualBookings.get(0).getId());
+        Assertions.assertEquals(savedBookings.get(0).getId(), actualBookings.get(1).getId());
+    }
+
+    @Test
+    @Transactional
+    void findAllBookingsForAllItemsByUserIdAfterCursor_shouldReturnNextPage() {
+        LocalDateTime today = LocalDateTime.of(2023, 12, 2, 17, 0);
+
+        User user1 = userRepository.save(User.builder().name("user1").email("user1@user.com").build());
+        User user2 = userRepository.save(User.builder().name("user2").email("user2@user.com").build());
+        Item item = itemRepository.save(Item.builder().name("Дрель").description("Электроинструмент")
+                .available(true).owner(user1).build());
+
+        Booking actualBooking1 = bookingRepository.save(Booking.builder().start(today.plusDays(1))
+                .end(today.plusDays(2)).item(item).booker(user2).status(BookingStatus.APPROVED).build());
+        Booking actualBooking2 = bookingRepository.save(Booking.builder().start(today.plusDays(3))
+                .end(today.plusDays(4)).item(item).booker(user2).status(BookingStatus.APPROVED).build());
+        Booking actualBooking3 = bookingRepository.save(Booking.builder().start(today.plusDays(3))
+                .end(today.plusDays(5)).item(item).booker(user2).status(BookingStatus.APPROVED).build());
+
+        List<Booking> actualBookings = bookingRepository.findAllBookingsForAllItemsByUserIdAfterCursor(
+                user1.getId(), actualBooking3.getStart(), actualBooking3.getId(), OffsetPageRequest.of(0, 10));
+
+        Assertions.assertEquals(2, actualBookings.size());
+        Assertions.assertEquals(actualBooking2.getId(), actualBookings.get(0).getId());
+        Assertions.assertEquals(actualBooking1.getId(), actualBookings.get(1).getId());
+    }
+
+    @Test
+    @Transactional
+    void findLastAndNextBookingsByItemIds_shouldReturnLastAndNextApprovedBookingForEachItem() {
+        LocalDateTime today = LocalDateTime.of(2023, 12, 2, 17, 0);
+
+        User user1 = userRepository.save(User.builder().name("user1").email("user1@user.com").build());
+        User user2 = userRepository.save(User.builder().name("user2").email("user2@user.com").build());
+        Item item1 = itemRepository.save(Item.builder().name("Дрель").description("Электроинструмент")
+                .available(true).owner(user1).build());
+        Item item2 = itemRepository.save(Item.builder().name("Отвертка").description("Аккумуляторная отвертка")
+                .available(true).owner(user1).build());
+
+        bookingRepository.save(Booking.builder().start(today.minusDays(5)).end(today.minusDays(4)).item(item1)
+                .booker(user2).status(BookingStatus.APPROVED).build());
+        Booking lastBooking1 = bookingRepository.save(Booking.builder().start(today.minusDays(3))
+                .end(today.minusDays(2)).item(item1).booker(user2).status(BookingStatus.APPROVED).build());
+        bookingRepository.save(Booking.builder().start(today.minusDays(1)).end(today.plusDays(1)).item(item1)
+                .booker(user2).status(BookingStatus.REJECTED).build());
+        Booking nextBooking1 = bookingRepository.save(Booking.builder().start(today.plusDays(2))
+                .end(today.plusDays(3)).item(item1).booker(user2).status(BookingStatus.APPROVED).build());
+        bookingRepository.save(Booking.builder().start(today.plusDays(4)).end(today.plusDays(5)).item(item1)
+                .booker(user2).status(BookingStatus.APPROVED).build());
+        Booking nextBooking2 = bookingRepository.save(Booking.builder().start(today.plusDays(1))
+                .end(today.plusDays(2)).item(item2).booker(user2).status(BookingStatus.APPROVED).build());
+
+        List<Booking> actualBookings = bookingRepository.findLastAndNextBookingsByItemIds(
+                List.of(item1.getId(), item2.getId()), today, BookingStatus.APPROVED);
+
+        Assertions.assertEquals(3, actualBookings.size());
+        Assertions.assertEquals(lastBooking1.getId(), actualBookings.get(0).getId());
+        Assertions.assertEquals(nextBooking1.getId(), actualBookings.get(1).getId());
+        Assertions.assertEquals(nextBooking2.getId(), actualBookings.get(2).getId());
     }
 
     @Test
@@ -191,7 +309,8 @@ public class BookingRepositoryTest {
                                 .requestor(user4).created(today.minusDays(1)).build())).build()))
                 .booker(user4).status(BookingStatus.APPROVED).build());
 
-        List<Booking> actualBookings = bookingRepository.findCurrentBookingsForAllItemsByUserId(user1.getId(), today);
+        List<Booking> actualBookings = bookingRepository.findCurrentBookingsForAllItemsByUserId(user1.getId(), today,
+                OffsetPageRequest.of(0, 10));
 
         Booking expectedBooking1 = Booking.builder().start(actualBooking1.getStart()).end(actualBooking1.getEnd())
                 .item(Item.builder().name(actualBooking1.getItem().getName())
@@ -269,10 +388,12 @@ public class BookingRepositoryTest {
         Assertions.assertNotNull(actualBookings.get(1).getItem().getRequest().getRequestor().getId());
         assertThat(actualBookings.get(0)).usingRecursiveComparison()
                 .ignoringFields("id", "booker.id", "item.id", "item.owner.id", "item.request.id",
-                        "item.request.requestor.id").isEqualTo(expectedBookings.get(0));
+                        "item.request.requestor.id").ignoringFieldsMatchingRegexes(".*version")
+                .isEqualTo(expectedBookings.get(0));
         assertThat(actualBookings.get(1)).usingRecursiveComparison()
                 .ignoringFields("id", "booker.id", "item.id", "item.owner.id", "item.request.id",
-                        "item.request.requestor.id").isEqualTo(expectedBookings.get(1));
+                        "item.request.requestor.id").ignoringFieldsMatchingRegexes(".*version")
+                .isEqualTo(expectedBookings.get(1));
     }
 
     @Test
@@ -309,7 +430,8 @@ public class BookingRepositoryTest {
                                 .requestor(user4).created(today.minusDays(1)).build())).build()))
                 .booker(user4).status(BookingStatus.APPROVED).build());
 
-        List<Booking> actualBookings = bookingRepository.findPastBookingsForAllItemsByUserId(user1.getId(), today);
+        List<Booking> actualBookings = bookingRepository.findPastBookingsForAllItemsByUserId(user1.getId(), today,
+                OffsetPageRequest.of(0, 10));
 
         Booking expectedBooking1 = Booking.builder().start(actualBooking1.getStart()).end(actualBooking1.getEnd())
                 .item(Item.builder().name(actualBooking1.getItem().getName())
@@ -387,10 +509,12 @@ public class BookingRepositoryTest {
         Assertions.assertNotNull(actualBookings.get(1).getItem().getRequest().getRequestor().getId());
         assertThat(actualBookings.get(0)).usingRecursiveComparison()
                 .ignoringFields("id", "booker.id", "item.id", "item.owner.id", "item.request.id",
-                        "item.request.requestor.id").isEqualTo(expectedBookings.get(0));
+                        "item.request.requestor.id").ignoringFieldsMatchingRegexes(".*version")
+                .isEqualTo(expectedBookings.get(0));
         assertThat(actualBookings.get(1)).usingRecursiveComparison()
                 .ignoringFields("id", "booker.id", "item.id", "item.owner.id", "item.request.id",
-                        "item.request.requestor.id").isEqualTo(expectedBookings.get(1));
+                        "item.request.requestor.id").ignoringFieldsMatchingRegexes(".*version")
+                .isEqualTo(expectedBookings.get(1));
     }
 
     @Test
@@ -427,7 +551,8 @@ public class BookingRepositoryTest {
                                 .requestor(user4).created(today.minusDays(1)).build())).build()))
                 .booker(user4).status(BookingStatus.APPROVED).build());
 
-        List<Booking> actualBookings = bookingRepository.findFutureBookingsForAllItemsByUserId(user1.getId(), today);
+        List<Booking> actualBookings = bookingRepository.findFutureBookingsForAllItemsByUserId(user1.getId(), today,
+                OffsetPageRequest.of(0, 10));
 
         Booking expectedBooking1 = Booking.builder().start(actualBooking1.getStart()).end(actualBooking1.getEnd())
                 .item(Item.builder().name(actualBooking1.getItem().getName())
@@ -505,10 +630,12 @@ public class BookingRepositoryTest {
         Assertions.assertNotNull(actualBookings.get(1).getItem().getRequest().getRequestor().getId());
         assertThat(actualBookings.get(0)).usingRecursiveComparison()
                 .ignoringFields("id", "booker.id", "item.id", "item.owner.id", "item.request.id",
-                        "item.request.requestor.id").isEqualTo(expectedBookings.get(0));
+                        "item.request.requestor.id").ignoringFieldsMatchingRegexes(".*version")
+                .isEqualTo(expectedBookings.get(0));
         assertThat(actualBookings.get(1)).usingRecursiveComparison()
                 .ignoringFields("id", "booker.id", "item.id", "item.owner.id", "item.request.id",
-                        "item.request.requestor.id").isEqualTo(expectedBookings.get(1));
+                        "item.request.requestor.id").ignoringFieldsMatchingRegexes(".*version")
+                .isEqualTo(expectedBookings.get(1));
     }
 
     @Test
@@ -546,7 +673,7 @@ public class BookingRepositoryTest {
                 .booker(user4).status(BookingStatus.APPROVED).build());
 
         List<Booking> actualBookings = bookingRepository.findStatusBookingsForAllItemsByUserId(user1.getId(),
-                BookingStatus.WAITING);
+                BookingStatus.WAITING, OffsetPageRequest.of(0, 10));
 
         Booking expectedBooking1 = Booking.builder().start(actualBooking1.getStart()).end(actualBooking1.getEnd())
                 .item(Item.builder().name(actualBooking1.getItem().getName())
@@ -624,10 +751,12 @@ public class BookingRepositoryTest {
         Assertions.assertNotNull(actualBookings.get(1).getItem().getRequest().getRequestor().getId());
         assertThat(actualBookings.get(0)).usingRecursiveComparison()
                 .ignoringFields("id", "booker.id", "item.id", "item.owner.id", "item.request.id",
-                        "item.request.requestor.id").isEqualTo(expectedBookings.get(0));
+                        "item.request.requestor.id").ignoringFieldsMatchingRegexes(".*version")
+                .isEqualTo(expectedBookings.get(0));
         assertThat(actualBookings.get(1)).usingRecursiveComparison()
                 .ignoringFields("id", "booker.id", "item.id", "item.owner.id", "item.request.id",
-                        "item.request.requestor.id").isEqualTo(expectedBookings.get(1));
+                        "item.request.requestor.id").ignoringFieldsMatchingRegexes(".*version")
+                .isEqualTo(expectedBookings.get(1));
     }
 
     @Test
@@ -665,7 +794,7 @@ public class BookingRepositoryTest {
                 .booker(user4).status(BookingStatus.REJECTED).build());
 
         List<Booking> actualBookings = bookingRepository.findStatusBookingsForAllItemsByUserId(user1.getId(),
-                BookingStatus.REJECTED);
+                BookingStatus.REJECTED, OffsetPageRequest.of(0, 10));
 
         Booking expectedBooking1 = Booking.builder().start(actualBooking1.getStart()).end(actualBooking1.getEnd())
                 .item(Item.builder().name(actualBooking1.getItem().getName())
@@ -743,9 +872,11 @@ public class BookingRepositoryTest {
         Assertions.assertNotNull(actualBookings.get(1).getItem().getRequest().getRequestor().getId());
         assertThat(actualBookings.get(0)).usingRecursiveComparison()
                 .ignoringFields("id", "booker.id", "item.id", "item.owner.id", "item.request.id",
-                        "item.request.requestor.id").isEqualTo(expectedBookings.get(0));
+                        "item.request.requestor.id").ignoringFieldsMatchingRegexes(".*version")
+                .isEqualTo(expectedBookings.get(0));
         assertThat(actualBookings.get(1)).usingRecursiveComparison()
                 .ignoringFields("id", "booker.id", "item.id", "item.owner.id", "item.request.id",
-                        "item.request.requestor.id").isEqualTo(expectedBookings.get(1));
+                        "item.request.requestor.id").ignoringFieldsMatchingRegexes(".*version")
+                .isEqualTo(expectedBookings.get(1));
     }
 }
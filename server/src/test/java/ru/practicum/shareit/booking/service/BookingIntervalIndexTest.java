@@ -0,0 +1,109 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ContextConfiguration;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.config.PrimaryReadTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+@SpringBootTest
+@ContextConfiguration(classes = {PrimaryReadTemplate.class, BookingIntervalIndex.class})
+public class BookingIntervalIndexTest {
+
+    private static final List<BookingStatus> ACTIVE_STATUSES = List.of(BookingStatus.APPROVED, BookingStatus.WAITING);
+
+    @MockBean
+    private BookingRepository bookingRepository;
+    @Autowired
+    private BookingIntervalIndex bookingIntervalIndex;
+
+    @Test
+    void findOverlapping_returnsIntervalsInStartOrderAndLoadsItemOnce() {
+        Long itemId = 1L;
+        LocalDateTime today = LocalDateTime.of(2023, 12, 4, 17, 0);
+
+        Mockito.when(bookingRepository.findByItemIdAndStatusIn(itemId, ACTIVE_STATUSES)).thenReturn(List.of(
+                Booking.builder().id(3L).start(today.plusDays(10)).end(today.plusDays(11))
+                        .status(BookingStatus.WAITING).build(),
+                Booking.builder().id(1L).start(today).end(today.plusDays(30)).status(BookingStatus.APPROVED).build(),
+                Booking.builder().id(2L).start(today.plusDays(1)).end(today.plusDays(2))
+                        .status(BookingStatus.APPROVED).build()));
+
+        List<BookingInterval> overlapping = bookingIntervalIndex.findOverlapping(itemId, today.plusDays(5),
+                today.plusDays(12));
+        List<BookingInterval> edgeOverlapping = bookingIntervalIndex.findOverlapping(itemId, today.plusDays(2),
+                today.plusDays(10));
+
+        Assertions.assertEquals(List.of(1L, 3L), overlapping.stream().map(BookingInterval::getBookingId)
+                .collect(Collectors.toList()));
+        Assertions.assertEquals(List.of(1L), edgeOverlapping.stream().map(BookingInterval::getBookingId)
+                .collect(Collectors.toList()));
+        Assertions.assertTrue(bookingIntervalIndex.findOverlapping(itemId, today.plusDays(30), today.plusDays(40))
+                .isEmpty());
+        Mockito.verify(bookingRepository, Mockito.times(1)).findByItemIdAndStatusIn(itemId, ACTIVE_STATUSES);
+        Mockito.verifyNoMoreInteractions(bookingRepository);
+    }
+
+    @Test
+    void findOverlapping_matchesLinearScan() {
+        Long itemId = 2L;
+        LocalDateTime today = LocalDateTime.of(2023, 12, 4, 17, 0);
+        List<Booking> bookings = IntStream.range(0, 200)
+                .mapToObj(i -> Booking.builder().id((long) i).start(today.plusHours((i * 37L) % 500))
+                        .end(today.plusHours((i * 37L) % 500 + 1 + (i * 13L) % 48)).status(BookingStatus.APPROVED)
+                        .build())
+                .collect(Collectors.toList());
+
+        Mockito.when(bookingRepository.findByItemIdAndStatusIn(itemId, ACTIVE_STATUSES)).thenReturn(bookings);
+
+        for (int hour = 0; hour < 560; hour += 7) {
+            LocalDateTime from = today.plusHours(hour);
+            LocalDateTime to = from.plusHours(5);
+            List<Long> expected = bookings.stream()
+                    .filter(b -> b.getStart().isBefore(to) && b.getEnd().isAfter(from))
+                    .map(Booking::getId).sorted().collect(Collectors.toList());
+            List<Long> actual = bookingIntervalIndex.findOverlapping(itemId, from, to).stream()
+                    .map(BookingInterval::getBookingId).sorted().collect(Collectors.toList());
+
+            Assertions.assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    void update_appliesWritesToLoadedItem() {
+        Long itemId = 3L;
+        LocalDateTime today = LocalDateTime.of(2023, 12, 4, 17, 0);
+
+        Mockito.when(bookingRepository.findByItemIdAndStatusIn(itemId, ACTIVE_STATUSES)).thenReturn(List.of(
+                Booking.builder().id(1L).start(today).end(today.plusDays(1)).status(BookingStatus.WAITING).build()));
+
+        bookingIntervalIndex.findOverlapping(itemId, today, today.plusDays(10));
+        bookingIntervalIndex.update(itemId, new BookingInterval(2L, today.plusDays(2), today.plusDays(3),
+                BookingStatus.WAITING));
+        bookingIntervalIndex.update(itemId, new BookingInterval(1L, today, today.plusDays(1),
+                BookingStatus.APPROVED));
+
+        Assertions.assertEquals(BookingStatus.APPROVED, bookingIntervalIndex.findOverlapping(itemId, today,
+                today.plusDays(1)).get(0).getStatus());
+        Assertions.assertEquals(2, bookingIntervalIndex.findOverlapping(itemId, today, today.plusDays(10)).size());
+
+        bookingIntervalIndex.update(itemId, new BookingInterval(2L, today.plusDays(2), today.plusDays(3),
+                BookingStatus.REJECTED));
+
+        Assertions.assertEquals(List.of(1L), bookingIntervalIndex.findOverlapping(itemId, today, today.plusDays(10))
+                .stream().map(BookingInterval::getBookingId).collect(Collectors.toList()));
+        Mockito.verify(bookingRepository, Mockito.times(1)).findByItemIdAndStatusIn(itemId, ACTIVE_STATUSES);
+        Mockito.verifyNoMoreInteractions(bookingRepository);
+    }
+}
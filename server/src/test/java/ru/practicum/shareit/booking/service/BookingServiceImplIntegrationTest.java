@@ -10,18 +10,22 @@ import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoReq;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.exception.EntityConflictException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.utils.QueryCounter;
 
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @Transactional
 @SpringBootTest
@@ -127,7 +131,7 @@ public class BookingServiceImplIntegrationTest {
         Booking dbBooking = queryBooking.setParameter("status", bookingLast.getStatus()).getSingleResult();
 
         BookingDto actualBookingDto = bookingService.approveOrRejectBooking(user2.getId(), dbBooking.getId(),
-                true);
+                true, null);
 
         assertThat(actualBookingDto.getId(), notNullValue());
         assertThat(actualBookingDto.getStart(), equalTo(bookingLast.getStart()));
@@ -146,6 +150,40 @@ public class BookingServiceImplIntegrationTest {
         assertThat(actualBookingDto.getStatus(), equalTo(BookingStatus.APPROVED));
     }
 
+    @Test
+    void approveOrRejectBooking_overlappingBookingIsNotApproved() {
+        User owner = User.builder().name("user1").email("user1@user.com").build();
+        User booker1 = User.builder().name("user2").email("user2@user.com").build();
+        User booker2 = User.builder().name("user3").email("user3@user.com").build();
+
+        em.persist(owner);
+        em.persist(booker1);
+        em.persist(booker2);
+
+        Item item = Item.builder().name("Вещь").description("Описание вещи").available(true).owner(owner).build();
+        em.persist(item);
+
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 12, 0);
+        Booking booking1 = Booking.builder().start(start).end(start.plusDays(2)).item(item).booker(booker1)
+                .status(BookingStatus.WAITING).build();
+        Booking booking2 = Booking.builder().start(start.plusDays(1)).end(start.plusDays(3)).item(item)
+                .booker(booker2).status(BookingStatus.WAITING).build();
+        Booking booking3 = Booking.builder().start(start.plusDays(2)).end(start.plusDays(3)).item(item)
+                .booker(booker2).status(BookingStatus.WAITING).build();
+        em.persist(booking1);
+        em.persist(booking2);
+        em.persist(booking3);
+        em.flush();
+
+        bookingService.approveOrRejectBooking(owner.getId(), booking1.getId(), true, null);
+
+        assertThrows(EntityConflictException.class, () -> bookingService.approveOrRejectBooking(owner.getId(),
+                booking2.getId(), true, null));
+        assertThat(em.find(Booking.class, booking2.getId()).getStatus(), equalTo(BookingStatus.WAITING));
+        assertThat(bookingService.approveOrRejectBooking(owner.getId(), booking3.getId(), true, null).getStatus(),
+                equalTo(BookingStatus.APPROVED));
+    }
+
     @Test
     void getBookingById() {
         User user1 = User.builder().name("user1").email("user1@user.com").build();
@@ -234,12 +272,12 @@ public class BookingServiceImplIntegrationTest {
 
         TypedQuery<Item> queryItem = em.createQuery("Select i from Item i where i.name = :name", Item.class);
         Item dbItem = queryItem.setParameter("name", item.getName()).getSingleResult();
-        Booking bookingLast = Booking.builder().start(LocalDateTime.now().minusDays(2))
-                .end(LocalDateTime.now().minusDays(1)).item(dbItem).booker(dbUser1).status(BookingStatus.WAITING)
-                .build();
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        Booking bookingLast = Booking.builder().start(now.minusDays(2)).end(now.minusDays(1)).item(dbItem)
+                .booker(dbUser1).status(BookingStatus.WAITING).build();
         em.persist(bookingLast);
 
-        List<BookingDto> actualBookingsDto = bookingService.getAllBookingsByUserId(user1.getId(),"ALL");
+        List<BookingDto> actualBookingsDto = bookingService.getAllBookingsByUserId(user1.getId(), "ALL", 0, 10, null);
 
         assertThat(actualBookingsDto.get(0).getId(), notNullValue());
         assertThat(actualBookingsDto.get(0).getStart(), equalTo(bookingLast.getStart()));
@@ -293,7 +331,8 @@ public class BookingServiceImplIntegrationTest {
                 .build();
         em.persist(bookingLast);
 
-        List<BookingDto> actualBookingsDto = bookingService.getAllBookingsForAllItemsByUserId(user2.getId(),"ALL");
+        List<BookingDto> actualBookingsDto = bookingService.getAllBookingsForAllItemsByUserId(user2.getId(), "ALL",
+                0, 10, null);
 
         assertThat(actualBookingsDto.get(0).getId(), notNullValue());
         assertThat(actualBookingsDto.get(0).getStart(), equalTo(bookingLast.getStart()));
@@ -311,4 +350,56 @@ public class BookingServiceImplIntegrationTest {
         assertThat(actualBookingsDto.get(0).getBooker().getEmail(), equalTo(user1.getEmail()));
         assertThat(actualBookingsDto.get(0).getStatus(), equalTo(BookingStatus.WAITING));
     }
+
+    @Test
+    void getAllBookingsByUserId_loadsItemsOwnersAndBookersInOneStatement() {
+        User booker = User.builder().name("booker").email("booker@user.com").build();
+
+        em.persist(booker);
+
+        for (int i = 0; i < 5; i++) {
+            User owner = User.builder().name("owner" + i).email("owner" + i + "@user.com").build();
+            Item item = Item.builder().name("Вещь" + i).description("Описание вещи").available(true).owner(owner)
+                    .build();
+
+            em.persist(owner);
+            em.persist(item);
+            em.persist(Booking.builder().start(LocalDateTime.now().plusDays(i + 1))
+                    .end(LocalDateTime.now().plusDays(i + 2)).item(item).booker(booker).status(BookingStatus.WAITING)
+                    .build());
+        }
+
+        bookingService.getAllBookingsByUserId(booker.getId(), "ALL", 0, 10, null);
+
+        long statements = QueryCounter.countStatements(em, () -> assertThat(bookingService
+                .getAllBookingsByUserId(booker.getId(), "ALL", 0, 10, null).size(), equalTo(5)));
+
+        assertThat(statements, equalTo(1L));
+    }
+
+    @Test
+    void getAllBookingsForAllItemsByUserId_loadsItemsOwnersAndBookersInOneStatement() {
+        User owner = User.builder().name("owner").email("owner@user.com").build();
+
+        em.persist(owner);
+
+        for (int i = 0; i < 5; i++) {
+            User booker = User.builder().name("booker" + i).email("booker" + i + "@user.com").build();
+            Item item = Item.builder().name("Вещь" + i).description("Описание вещи").available(true).owner(owner)
+                    .build();
+
+            em.persist(booker);
+            em.persist(item);
+            em.persist(Booking.builder().start(LocalDateTime.now().plusDays(i + 1))
+                    .end(LocalDateTime.now().plusDays(i + 2)).item(item).booker(booker).status(BookingStatus.WAITING)
+                    .build());
+        }
+
+        bookingService.getAllBookingsForAllItemsByUserId(owner.getId(), "FUTURE", 0, 10, null);
+
+        long statements = QueryCounter.countStatements(em, () -> assertThat(bookingService
+                .getAllBookingsForAllItemsByUserId(owner.getId(), "FUTURE", 0, 10, null).size(), equalTo(5)));
+
+        assertThat(statements, equalTo(1L));
+    }
 }
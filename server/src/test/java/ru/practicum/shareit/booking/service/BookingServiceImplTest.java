@@ -9,13 +9,16 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.PlatformTransactionManager;
 import ru.practicum.shareit.booking.dao.BookingRepository;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoReq;
+import ru.practicum.shareit.booking.dto.BookingProjection;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.mapper.BookingMapperImpl;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.exception.EntityConflictException;
 import ru.practicum.shareit.exception.EntityNotFoundException;
 import ru.practicum.shareit.exception.EntityValidationException;
 import ru.practicum.shareit.item.dao.ItemRepository;
@@ -33,6 +36,8 @@ import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.mapper.UserMapperImpl;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.utils.OffsetPageRequest;
+import ru.practicum.shareit.utils.OptimisticLockRetrier;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
@@ -45,9 +50,11 @@ import static org.mockito.Mockito.mockStatic;
 
 @SpringBootTest
 @ContextConfiguration(classes = {UserMapperImpl.class, ItemMapperImpl.class, ItemRequestMapperImpl.class,
-        CommentMapperImpl.class, BookingServiceImpl.class, BookingMapperImpl.class})
+        CommentMapperImpl.class, BookingServiceImpl.class, BookingMapperImpl.class, OptimisticLockRetrier.class})
 public class BookingServiceImplTest {
 
+    @MockBean
+    private PlatformTransactionManager transactionManager;
     @MockBean
     private UserRepository userRepository;
     @SpyBean
@@ -66,6 +73,10 @@ public class BookingServiceImplTest {
     private BookingService bookingService;
     @SpyBean
     private BookingMapper bookingMapper;
+    @MockBean
+    private BookingTimelineCache bookingTimelineCache;
+    @MockBean
+    private BookingIntervalIndex bookingIntervalIndex;
 
     @Test
     void createBooking_returnsBookingDtoWhenCreated() {
@@ -118,10 +129,18 @@ public class BookingServiceImplTest {
         Mockito.verifyNoMoreInteractions(userRepository);
         Mockito.verify(itemRepository, Mockito.times(1)).findById(bookingDtoReq.getItemId());
         Mockito.verifyNoMoreInteractions(itemRepository);
+        Mockito.verify(bookingRepository, Mockito.times(1)).existsByItemIdAndStatusAndStartBeforeAndEndAfter(
+                originalItem.getId(), BookingStatus.APPROVED, bookingDtoReq.getEnd(), bookingDtoReq.getStart());
         Mockito.verify(bookingRepository, Mockito.times(1)).save(Booking.builder()
                 .start(bookingDtoReq.getStart()).end(bookingDtoReq.getEnd()).item(originalItem).booker(originalUser)
                 .status(BookingStatus.WAITING).build());
         Mockito.verifyNoMoreInteractions(bookingRepository);
+        Mockito.verify(bookingTimelineCache, Mockito.times(1)).evict(originalItem.getId());
+        Mockito.verifyNoMoreInteractions(bookingTimelineCache);
+        Mockito.verify(bookingIntervalIndex, Mockito.times(1)).update(Mockito.eq(originalItem.getId()),
+                Mockito.argThat(i -> i.getBookingId().equals(outBooking.getId())
+                        && i.getStatus() == BookingStatus.WAITING));
+        Mockito.verifyNoMoreInteractions(bookingIntervalIndex);
         Mockito.verify(bookingMapper, Mockito.times(1)).toBookingDto(outBooking);
         Mockito.verifyNoMoreInteractions(bookingMapper);
     }
@@ -341,26 +360,75 @@ public class BookingServiceImplTest {
 
         Mockito.when(userRepository.existsById(userId)).thenReturn(true);
         Mockito.when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(originalBooking));
-        Mockito.when(bookingRepository.save(outBooking)).thenReturn(outBooking);
+        Mockito.when(itemRepository.findItemByIdForUpdate(originalBooking.getItem().getId()))
+                .thenReturn(Optional.of(originalBooking.getItem()));
+        Mockito.when(bookingRepository.saveAndFlush(outBooking)).thenReturn(outBooking);
 
         BookingDto actualBookingDto;
         try (MockedStatic<LocalDateTime> mockedStatic = mockStatic(LocalDateTime.class,
                 Mockito.CALLS_REAL_METHODS)) {
             mockedStatic.when(LocalDateTime::now).thenReturn(today);
 
-            actualBookingDto = bookingService.approveOrRejectBooking(userId, bookingId, approved);
+            actualBookingDto = bookingService.approveOrRejectBooking(userId, bookingId, approved, null);
         }
 
         Assertions.assertEquals(expectedBookingDto.getId(), actualBookingDto.getId());
         Mockito.verify(userRepository, Mockito.times(1)).existsById(userId);
         Mockito.verifyNoMoreInteractions(userRepository);
+        Mockito.verify(itemRepository, Mockito.times(1)).findItemByIdForUpdate(originalBooking.getItem().getId());
+        Mockito.verifyNoMoreInteractions(itemRepository);
         Mockito.verify(bookingRepository, Mockito.times(1)).findById(bookingId);
-        Mockito.verify(bookingRepository, Mockito.times(1)).save(originalBooking);
+        Mockito.verify(bookingRepository, Mockito.times(1)).existsByItemIdAndStatusAndStartBeforeAndEndAfter(
+                originalBooking.getItem().getId(), BookingStatus.APPROVED, originalBooking.getEnd(),
+                originalBooking.getStart());
+        Mockito.verify(bookingRepository, Mockito.times(1)).saveAndFlush(originalBooking);
         Mockito.verifyNoMoreInteractions(bookingRepository);
+        Mockito.verify(bookingTimelineCache, Mockito.times(1)).evict(originalBooking.getItem().getId());
+        Mockito.verifyNoMoreInteractions(bookingTimelineCache);
+        Mockito.verify(bookingIntervalIndex, Mockito.times(1)).update(Mockito.eq(originalBooking.getItem().getId()),
+                Mockito.argThat(i -> i.getBookingId().equals(bookingId) && i.getStatus() == BookingStatus.APPROVED));
+        Mockito.verifyNoMoreInteractions(bookingIntervalIndex);
         Mockito.verify(bookingMapper, Mockito.times(1)).toBookingDto(originalBooking);
         Mockito.verifyNoMoreInteractions(bookingMapper);
     }
 
+    @Test
+    void approveOrRejectBooking_overlapsApprovedReturnsEntityConflictException() {
+        Long bookingId = 1L;
+        Boolean approved = true;
+        Long userId = 1L;
+        LocalDateTime today = LocalDateTime.of(2023, 12, 2, 17, 0);
+
+        Booking originalBooking = Booking.builder().id(bookingId).start(today.plusDays(1)).end(today.plusDays(2))
+                .item(Item.builder().id(1L).name("Дрель").description("Простая дрель").available(true)
+                        .owner(User.builder().id(userId).name("user").email("user@user.com").build()).build())
+                .booker(User.builder().id(2L).name("user2").email("user2@user.com").build())
+                .status(BookingStatus.WAITING).build();
+
+        Mockito.when(userRepository.existsById(userId)).thenReturn(true);
+        Mockito.when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(originalBooking));
+        Mockito.when(itemRepository.findItemByIdForUpdate(originalBooking.getItem().getId()))
+                .thenReturn(Optional.of(originalBooking.getItem()));
+        Mockito.when(bookingRepository.existsByItemIdAndStatusAndStartBeforeAndEndAfter(
+                originalBooking.getItem().getId(), BookingStatus.APPROVED, originalBooking.getEnd(),
+                originalBooking.getStart())).thenReturn(true);
+
+        Exception exception = assertThrows(EntityConflictException.class, () ->
+                bookingService.approveOrRejectBooking(userId, bookingId, approved, null));
+
+        assertTrue(exception.getMessage().contains("Период бронирования пересекается с уже подтверждённым " +
+                "бронированием"));
+        Assertions.assertEquals(BookingStatus.WAITING, originalBooking.getStatus());
+        Mockito.verify(itemRepository, Mockito.times(1)).findItemByIdForUpdate(originalBooking.getItem().getId());
+        Mockito.verifyNoMoreInteractions(itemRepository);
+        Mockito.verify(bookingRepository, Mockito.times(1)).findById(bookingId);
+        Mockito.verify(bookingRepository, Mockito.times(1)).existsByItemIdAndStatusAndStartBeforeAndEndAfter(
+                originalBooking.getItem().getId(), BookingStatus.APPROVED, originalBooking.getEnd(),
+                originalBooking.getStart());
+        Mockito.verifyNoMoreInteractions(bookingRepository);
+        Mockito.verifyNoInteractions(bookingTimelineCache);
+    }
+
     @Test
     void approveOrRejectBooking_rejectedReturnsBookingDtoWhenApproved() {
         Long bookingId = 1L;
@@ -402,21 +470,21 @@ public class BookingServiceImplTest {
 
         Mockito.when(userRepository.existsById(userId)).thenReturn(true);
         Mockito.when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(originalBooking));
-        Mockito.when(bookingRepository.save(outBooking)).thenReturn(outBooking);
+        Mockito.when(bookingRepository.saveAndFlush(outBooking)).thenReturn(outBooking);
 
         BookingDto actualBookingDto;
         try (MockedStatic<LocalDateTime> mockedStatic = mockStatic(LocalDateTime.class,
                 Mockito.CALLS_REAL_METHODS)) {
             mockedStatic.when(LocalDateTime::now).thenReturn(today);
 
-            actualBookingDto = bookingService.approveOrRejectBooking(userId, bookingId, approved);
+            actualBookingDto = bookingService.approveOrRejectBooking(userId, bookingId, approved, null);
         }
 
         Assertions.assertEquals(expectedBookingDto.getId(), actualBookingDto.getId());
         Mockito.verify(userRepository, Mockito.times(1)).existsById(userId);
         Mockito.verifyNoMoreInteractions(userRepository);
         Mockito.verify(bookingRepository, Mockito.times(1)).findById(bookingId);
-        Mockito.verify(bookingRepository, Mockito.times(1)).save(originalBooking);
+        Mockito.verify(bookingRepository, Mockito.times(1)).saveAndFlush(originalBooking);
         Mockito.verifyNoMoreInteractions(bookingRepository);
         Mockito.verify(bookingMapper, Mockito.times(1)).toBookingDto(originalBooking);
         Mockito.verifyNoMoreInteractions(bookingMapper);
@@ -446,7 +514,7 @@ public class BookingServiceImplTest {
                     Mockito.CALLS_REAL_METHODS)) {
                 mockedStatic.when(LocalDateTime::now).thenReturn(today);
 
-                bookingService.approveOrRejectBooking(userId, bookingId, approved);
+                bookingService.approveOrRejectBooking(userId, bookingId, approved, null);
             }
         });
 
@@ -482,7 +550,7 @@ public class BookingServiceImplTest {
                     Mockito.CALLS_REAL_METHODS)) {
                 mockedStatic.when(LocalDateTime::now).thenReturn(today);
 
-                bookingService.approveOrRejectBooking(userId, bookingId, approved);
+                bookingService.approveOrRejectBooking(userId, bookingId, approved, null);
             }
         });
 
@@ -507,7 +575,7 @@ public class BookingServiceImplTest {
                     Mockito.CALLS_REAL_METHODS)) {
                 mockedStatic.when(LocalDateTime::now).thenReturn(today);
 
-                bookingService.approveOrRejectBooking(userId, bookingId, approved);
+                bookingService.approveOrRejectBooking(userId, bookingId, approved, null);
             }
         });
 
@@ -653,45 +721,43 @@ public class BookingServiceImplTest {
     void getAllBookingsByUserId_allRreturnsListBookingDtoWhenFound() {
         Long userId = 1L;
         String state = "ALL";
+        Integer from = 0;
+        Integer size = 10;
         LocalDateTime today = LocalDateTime.of(2023, 12, 2, 17, 0);
 
-        Booking outBooking = Booking.builder().id(1L).start(today.plusDays(1)).end(today.plusDays(2))
-                .item(Item.builder().id(1L).name("Дрель").description("Простая дрель").available(true)
-                        .owner(User.builder().id(userId).name("user").email("user@user.com").build())
-                        .request(ItemRequest.builder().id(1L).description("Хотел бы воспользоваться Дрелью")
-                                .requestor(User.builder().id(2L).name("user").email("user@user.com").build())
-                                .created(today.minusDays(1)).build()).build())
-                .booker(User.builder().id(2L).name("user2").email("user2@user.com").build())
-                .status(BookingStatus.APPROVED).build();
+        BookingProjection outBooking = new BookingProjection(1L, today.plusDays(1), today.plusDays(2),
+                BookingStatus.APPROVED, 1L, "Дрель", "Простая дрель", true, 1L, userId, "user", "user@user.com", 2L,
+                "user2", "user2@user.com");
 
-        List<Booking> outBookings = Collections.singletonList(outBooking);
+        List<BookingProjection> outBookings = Collections.singletonList(outBooking);
 
         List<BookingDto> expectedBookingsDto = Collections.singletonList(BookingDto.builder()
                 .id(outBookings.get(0).getId()).start(outBookings.get(0).getStart())
                 .end(outBookings.get(0).getEnd())
-                .item(ItemDto.builder().id(outBookings.get(0).getItem().getId())
-                        .name(outBookings.get(0).getItem().getName())
-                        .description(outBookings.get(0).getItem().getDescription())
-                        .available(outBookings.get(0).getItem().getAvailable()).owner(UserDto.builder()
-                                .id(outBookings.get(0).getItem().getOwner().getId())
-                                .name(outBookings.get(0).getItem().getOwner().getName())
-                                .email(outBookings.get(0).getItem().getOwner().getEmail()).build())
-                        .requestId(outBookings.get(0).getItem().getRequest().getId()).build())
-                .booker(UserDto.builder().id(outBookings.get(0).getBooker().getId())
-                        .name(outBookings.get(0).getBooker().getName())
-                        .email(outBookings.get(0).getBooker().getEmail()).build())
+                .item(ItemDto.builder().id(outBookings.get(0).getItemId())
+                        .name(outBookings.get(0).getItemName())
+                        .description(outBookings.get(0).getItemDescription())
+                        .available(outBookings.get(0).getItemAvailable()).owner(UserDto.builder()
+                                .id(outBookings.get(0).getOwnerId())
+                                .name(outBookings.get(0).getOwnerName())
+                                .email(outBookings.get(0).getOwnerEmail()).build())
+                        .requestId(outBookings.get(0).getItemRequestId()).build())
+                .booker(UserDto.builder().id(outBookings.get(0).getBookerId())
+                        .name(outBookings.get(0).getBookerName())
+                        .email(outBookings.get(0).getBookerEmail()).build())
                 .status(outBookings.get(0).getStatus()).build());
 
         Mockito.when(userRepository.existsById(userId)).thenReturn(true);
-        Mockito.when(bookingRepository.findByBookerIdOrderByStartDesc(userId)).thenReturn(outBookings);
+        Mockito.when(bookingRepository.findBookingsByBookerId(userId, OffsetPageRequest.of(from, size)))
+                .thenReturn(outBookings);
 
-        List<BookingDto> actualBookingsDto = bookingService.getAllBookingsByUserId(userId, state);
+        List<BookingDto> actualBookingsDto = bookingService.getAllBookingsByUserId(userId, state, from, size, null);
 
         Assertions.assertEquals(expectedBookingsDto.get(0).getId(), actualBookingsDto.get(0).getId());
         Mockito.verify(userRepository, Mockito.times(1)).existsById(userId);
         Mockito.verifyNoMoreInteractions(userRepository);
         Mockito.verify(bookingRepository, Mockito.times(1))
-                .findByBookerIdOrderByStartDesc(userId);
+                .findBookingsByBookerId(userId, OffsetPageRequest.of(from, size));
         Mockito.verifyNoMoreInteractions(bookingRepository);
         Mockito.verify(bookingMapper, Mockito.times(1)).toBookingDto(outBooking);
         Mockito.verifyNoMoreInteractions(bookingMapper);
@@ -701,52 +767,49 @@ public class BookingServiceImplTest {
     void getAllBookingsByUserId_currentRreturnsListBookingDtoWhenFound() {
         Long userId = 1L;
         String state = "CURRENT";
+        Integer from = 0;
+        Integer size = 10;
         LocalDateTime today = LocalDateTime.of(2023, 12, 2, 17, 0);
 
-        Booking outBooking = Booking.builder().id(1L).start(today.plusDays(1)).end(today.plusDays(2))
-                .item(Item.builder().id(1L).name("Дрель").description("Простая дрель").available(true)
-                        .owner(User.builder().id(userId).name("user").email("user@user.com").build())
-                        .request(ItemRequest.builder().id(1L).description("Хотел бы воспользоваться Дрелью")
-                                .requestor(User.builder().id(2L).name("user").email("user@user.com").build())
-                                .created(today.minusDays(1)).build()).build())
-                .booker(User.builder().id(2L).name("user2").email("user2@user.com").build())
-                .status(BookingStatus.APPROVED).build();
+        BookingProjection outBooking = new BookingProjection(1L, today.plusDays(1), today.plusDays(2),
+                BookingStatus.APPROVED, 1L, "Дрель", "Простая дрель", true, 1L, userId, "user", "user@user.com", 2L,
+                "user2", "user2@user.com");
 
-        List<Booking> outBookings = Collections.singletonList(outBooking);
+        List<BookingProjection> outBookings = Collections.singletonList(outBooking);
 
         List<BookingDto> expectedBookingsDto = Collections.singletonList(BookingDto.builder()
                 .id(outBookings.get(0).getId()).start(outBookings.get(0).getStart())
                 .end(outBookings.get(0).getEnd())
-                .item(ItemDto.builder().id(outBookings.get(0).getItem().getId())
-                        .name(outBookings.get(0).getItem().getName())
-                        .description(outBookings.get(0).getItem().getDescription())
-                        .available(outBookings.get(0).getItem().getAvailable()).owner(UserDto.builder()
-                                .id(outBookings.get(0).getItem().getOwner().getId())
-                                .name(outBookings.get(0).getItem().getOwner().getName())
-                                .email(outBookings.get(0).getItem().getOwner().getEmail()).build())
-                        .requestId(outBookings.get(0).getItem().getRequest().getId()).build())
-                .booker(UserDto.builder().id(outBookings.get(0).getBooker().getId())
-                        .name(outBookings.get(0).getBooker().getName())
-                        .email(outBookings.get(0).getBooker().getEmail()).build())
+                .item(ItemDto.builder().id(outBookings.get(0).getItemId())
+                        .name(outBookings.get(0).getItemName())
+                        .description(outBookings.get(0).getItemDescription())
+                        .available(outBookings.get(0).getItemAvailable()).owner(UserDto.builder()
+                                .id(outBookings.get(0).getOwnerId())
+                                .name(outBookings.get(0).getOwnerName())
+                                .email(outBookings.get(0).getOwnerEmail()).build())
+                        .requestId(outBookings.get(0).getItemRequestId()).build())
+                .booker(UserDto.builder().id(outBookings.get(0).getBookerId())
+                        .name(outBookings.get(0).getBookerName())
+                        .email(outBookings.get(0).getBookerEmail()).build())
                 .status(outBookings.get(0).getStatus()).build());
 
         Mockito.when(userRepository.existsById(userId)).thenReturn(true);
-        Mockito.when(bookingRepository.findByBookerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(userId, today,
-                today)).thenReturn(outBookings);
+        Mockito.when(bookingRepository.findCurrentBookingsByBookerId(userId, today, OffsetPageRequest.of(from,
+                size))).thenReturn(outBookings);
 
         List<BookingDto> actualBookingsDto;
         try (MockedStatic<LocalDateTime> mockedStatic = mockStatic(LocalDateTime.class,
                 Mockito.CALLS_REAL_METHODS)) {
             mockedStatic.when(LocalDateTime::now).thenReturn(today);
 
-            actualBookingsDto = bookingService.getAllBookingsByUserId(userId, state);
+            actualBookingsDto = bookingService.getAllBookingsByUserId(userId, state, from, size, null);
         }
 
         Assertions.assertEquals(expectedBookingsDto.get(0).getId(), actualBookingsDto.get(0).getId());
         Mockito.verify(userRepository, Mockito.times(1)).existsById(userId);
         Mockito.verifyNoMoreInteractions(userRepository);
         Mockito.verify(bookingRepository, Mockito.times(1))
-                .findByBookerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(userId, today, today);
+                .findCurrentBookingsByBookerId(userId, today, OffsetPageRequest.of(from, size));
         Mockito.verifyNoMoreInteractions(bookingRepository);
         Mockito.verify(bookingMapper, Mockito.times(1)).toBookingDto(outBooking);
         Mockito.verifyNoMoreInteractions(bookingMapper);
@@ -756,37 +819,35 @@ public class BookingServiceImplTest {
     void getAllBookingsByUserId_pastRreturnsListBookingDtoWhenFound() {
         Long userId = 1L;
         String state = "PAST";
+        Integer from = 0;
+        Integer size = 10;
         LocalDateTime today = LocalDateTime.of(2023, 12, 2, 17, 0);
 
-        Booking outBooking = Booking.builder().id(1L).start(today.plusDays(1)).end(today.plusDays(2))
-                .item(Item.builder().id(1L).name("Дрель").description("Простая дрель").available(true)
-                        .owner(User.builder().id(userId).name("user").email("user@user.com").build())
-                        .request(ItemRequest.builder().id(1L).description("Хотел бы воспользоваться Дрелью")
-                                .requestor(User.builder().id(2L).name("user").email("user@user.com").build())
-                                .created(today.minusDays(1)).build()).build())
-                .booker(User.builder().id(2L).name("user2").email("user2@user.com").build())
-                .status(BookingStatus.APPROVED).build();
+        BookingProjection outBooking = new BookingProjection(1L, today.plusDays(1), today.plusDays(2),
+                BookingStatus.APPROVED, 1L, "Дрель", "Простая дрель", true, 1L, userId, "user", "user@user.com", 2L,
+                "user2", "user2@user.com");
 
-        List<Booking> outBookings = Collections.singletonList(outBooking);
+        List<BookingProjection> outBookings = Collections.singletonList(outBooking);
 
         List<BookingDto> expectedBookingsDto = Collections.singletonList(BookingDto.builder()
                 .id(outBookings.get(0).getId()).start(outBookings.get(0).getStart())
                 .end(outBookings.get(0).getEnd())
-                .item(ItemDto.builder().id(outBookings.get(0).getItem().getId())
-                        .name(outBookings.get(0).getItem().getName())
-                        .description(outBookings.get(0).getItem().getDescription())
-                        .available(outBookings.get(0).getItem().getAvailable()).owner(UserDto.builder()
-                                .id(outBookings.get(0).getItem().getOwner().getId())
-                                .name(outBookings.get(0).getItem().getOwner().getName())
-                                .email(outBookings.get(0).getItem().getOwner().getEmail()).build())
-                        .requestId(outBookings.get(0).getItem().getRequest().getId()).build())
-                .booker(UserDto.builder().id(outBookings.get(0).getBooker().getId())
-                        .name(outBookings.get(0).getBooker().getName())
-                        .email(outBookings.get(0).getBooker().getEmail()).build())
+                .item(ItemDto.builder().id(outBookings.get(0).getItemId())
+                        .name(outBookings.get(0).getItemName())
+                        .description(outBookings.get(0).getItemDescription())
+                        .available(outBookings.get(0).getItemAvailable()).owner(UserDto.builder()
+                                .id(outBookings.get(0).getOwnerId())
+                                .name(outBookings.get(0).getOwnerName())
+                                .email(outBookings.get(0).getOwnerEmail()).build())
+                        .requestId(outBookings.get(0).getItemRequestId()).build())
+                .booker(UserDto.builder().id(outBookings.get(0).getBookerId())
+                        .name(outBookings.get(0).getBookerName())
+                        .email(outBookings.get(0).getBookerEmail()).build())
                 .status(outBookings.get(0).getStatus()).build());
 
         Mockito.when(userRepository.existsById(userId)).thenReturn(true);
-        Mockito.when(bookingRepository.findByBookerIdAndEndIsBeforeOrderByStartDesc(userId, today))
+        Mockito.when(bookingRepository.findPastBookingsByBookerId(userId, today,
+                        OffsetPageRequest.of(from, size)))
                 .thenReturn(outBookings);
 
         List<BookingDto> actualBookingsDto;
@@ -794,14 +855,15 @@ public class BookingServiceImplTest {
                 Mockito.CALLS_REAL_METHODS)) {
             mockedStatic.when(LocalDateTime::now).thenReturn(today);
 
-            actualBookingsDto = bookingService.getAllBookingsByUserId(userId, state);
+            actualBookingsDto = bookingService.getAllBookingsByUserId(userId, state, from, size, null);
         }
 
         Assertions.assertEquals(expectedBookingsDto.get(0).getId(), actualBookingsDto.get(0).getId());
         Mockito.verify(userRepository, Mockito.times(1)).existsById(userId);
         Mockito.verifyNoMoreInteractions(userRepository);
         Mockito.verify(bookingRepository, Mockito.times(1))
-                .findByBookerIdAndEndIsBeforeOrderByStartDesc(userId, today);
+                .findPastBookingsByBookerId(userId, today,
+                        OffsetPageRequest.of(from, size));
         Mockito.verifyNoMoreInteractions(bookingRepository);
         Mockito.verify(bookingMapper, Mockito.times(1)).toBookingDto(outBooking);
         Mockito.verifyNoMoreInteractions(bookingMapper);
@@ -811,37 +873,35 @@ public class BookingServiceImplTest {
     void getAllBookingsByUserId_futureRreturnsListBookingDtoWhenFound() {
         Long userId = 1L;
         String state = "FUTURE";
+        Integer from = 0;
+        Integer size = 10;
         LocalDateTime today = LocalDateTime.of(2023, 12, 2, 17, 0);
 
-        Booking outBooking = Booking.builder().id(1L).start(today.plusDays(1)).end(today.plusDays(2))
-                .item(Item.builder().id(1L).name("Дрель").description("Простая дрель").available(true)
-                        .owner(User.builder().id(userId).name("user").email("user@user.com").build())
-                        .request(ItemRequest.builder().id(1L).description("Хотел бы воспользоваться Дрелью")
-                                .requestor(User.builder().id(2L).name("user").email("user@user.com").build())
-                                .created(today.minusDays(1)).build()).build())
-                .booker(User.builder().id(2L).name("user2").email("user2@user.com").build())
-                .status(BookingStatus.APPROVED).build();
+        BookingProjection outBooking = new BookingProjection(1L, today.plusDays(1), today.plusDays(2),
+                BookingStatus.APPROVED, 1L, "Дрель", "Простая дрель", true, 1L, userId, "user", "user@user.com", 2L,
+                "user2", "user2@user.com");
 
-        List<Booking> outBookings = Collections.singletonList(outBooking);
+        List<BookingProjection> outBookings = Collections.singletonList(outBooking);
 
         List<BookingDto> expectedBookingsDto = Collections.singletonList(BookingDto.builder()
                 .id(outBookings.get(0).getId()).start(outBookings.get(0).getStart())
                 .end(outBookings.get(0).getEnd())
-                .item(ItemDto.builder().id(outBookings.get(0).getItem().getId())
-                        .name(outBookings.get(0).getItem().getName())
-                        .description(outBookings.get(0).getItem().getDescription())
-                        .available(outBookings.get(0).getItem().getAvailable()).owner(UserDto.builder()
-                                .id(outBookings.get(0).getItem().getOwner().getId())
-                                .name(outBookings.get(0).getItem().getOwner().getName())
-                                .email(outBookings.get(0).getItem().getOwner().getEmail()).build())
-                        .requestId(outBookings.get(0).getItem().getRequest().getId()).build())
-                .booker(UserDto.builder().id(outBookings.get(0).getBooker().getId())
-                        .name(outBookings.get(0).getBooker().getName())
-                        .email(outBookings.get(0).getBooker().getEmail()).build())
+                .item(ItemDto.builder().id(outBookings.get(0).getItemId())
+                        .name(outBookings.get(0).getItemName())
+                        .description(outBookings.get(0).getItemDescription())
+                        .available(outBookings.get(0).getItemAvailable()).owner(UserDto.builder()
+                                .id(outBookings.get(0).getOwnerId())
+                                .name(outBookings.get(0).getOwnerName())
+                                .email(outBookings.get(0).getOwnerEmail()).build())
+                        .requestId(outBookings.get(0).getItemRequestId()).build())
+                .booker(UserDto.builder().id(outBookings.get(0).getBookerId())
+                        .name(outBookings.get(0).getBookerName())
+                        .email(outBookings.get(0).getBookerEmail()).build())
                 .status(outBookings.get(0).getStatus()).build());
 
         Mockito.when(userRepository.existsById(userId)).thenReturn(true);
-        Mockito.when(bookingRepository.findByBookerIdAndStartIsAfterOrderByStartDesc(userId, today))
+        Mockito.when(bookingRepository.findFutureBookingsByBookerId(userId, today,
+                        OffsetPageRequest.of(from, size)))
                 .thenReturn(outBookings);
 
         List<BookingDto> actualBookingsDto;
@@ -849,14 +909,15 @@ public class BookingServiceImplTest {
                 Mockito.CALLS_REAL_METHODS)) {
             mockedStatic.when(LocalDateTime::now).thenReturn(today);
 
-            actualBookingsDto = bookingService.getAllBookingsByUserId(userId, state);
+            actualBookingsDto = bookingService.getAllBookingsByUserId(userId, state, from, size, null);
         }
 
         Assertions.assertEquals(expectedBookingsDto.get(0).getId(), actualBookingsDto.get(0).getId());
         Mockito.verify(userRepository, Mockito.times(1)).existsById(userId);
         Mockito.verifyNoMoreInteractions(userRepository);
         Mockito.verify(bookingRepository, Mockito.times(1))
-                .findByBookerIdAndStartIsAfterOrderByStartDesc(userId, today);
+                .findFutureBookingsByBookerId(userId, today,
+                        OffsetPageRequest.of(from, size));
         Mockito.verifyNoMoreInteractions(bookingRepository);
         Mockito.verify(bookingMapper, Mockito.times(1)).toBookingDto(outBooking);
         Mockito.verifyNoMoreInteractions(bookingMapper);
@@ -866,46 +927,45 @@ public class BookingServiceImplTest {
     void getAllBookingsByUserId_waitingRreturnsListBookingDtoWhenFound() {
         Long userId = 1L;
         String state = "WAITING";
+        Integer from = 0;
+        Integer size = 10;
         LocalDateTime today = LocalDateTime.of(2023, 12, 2, 17, 0);
 
-        Booking outBooking = Booking.builder().id(1L).start(today.plusDays(1)).end(today.plusDays(2))
-                .item(Item.builder().id(1L).name("Дрель").description("Простая дрель").available(true)
-                        .owner(User.builder().id(userId).name("user").email("user@user.com").build())
-                        .request(ItemRequest.builder().id(1L).description("Хотел бы воспользоваться Дрелью")
-                                .requestor(User.builder().id(2L).name("user").email("user@user.com").build())
-                                .created(today.minusDays(1)).build()).build())
-                .booker(User.builder().id(2L).name("user2").email("user2@user.com").build())
-                .status(BookingStatus.APPROVED).build();
+        BookingProjection outBooking = new BookingProjection(1L, today.plusDays(1), today.plusDays(2),
+                BookingStatus.APPROVED, 1L, "Дрель", "Простая дрель", true, 1L, userId, "user", "user@user.com", 2L,
+                "user2", "user2@user.com");
 
-        List<Booking> outBookings = Collections.singletonList(outBooking);
+        List<BookingProjection> outBookings = Collections.singletonList(outBooking);
 
         List<BookingDto> expectedBookingsDto = Collections.singletonList(BookingDto.builder()
                 .id(outBookings.get(0).getId()).start(outBookings.get(0).getStart())
                 .end(outBookings.get(0).getEnd())
-                .item(ItemDto.builder().id(outBookings.get(0).getItem().getId())
-                        .name(outBookings.get(0).getItem().getName())
-                        .description(outBookings.get(0).getItem().getDescription())
-                        .available(outBookings.get(0).getItem().getAvailable()).owner(UserDto.builder()
-                                .id(outBookings.get(0).getItem().getOwner().getId())
-                                .name(outBookings.get(0).getItem().getOwner().getName())
-                                .email(outBookings.get(0).getItem().getOwner().getEmail()).build())
-                        .requestId(outBookings.get(0).getItem().getRequest().getId()).build())
-                .booker(UserDto.builder().id(outBookings.get(0).getBooker().getId())
-                        .name(outBookings.get(0).getBooker().getName())
-                        .email(outBookings.get(0).getBooker().getEmail()).build())
+                .item(ItemDto.builder().id(outBookings.get(0).getItemId())
+                        .name(outBookings.get(0).getItemName())
+                        .description(outBookings.get(0).getItemDescription())
+                        .available(outBookings.get(0).getItemAvailable()).owner(UserDto.builder()
+                                .id(outBookings.get(0).getOwnerId())
+                                .name(outBookings.get(0).getOwnerName())
+                                .email(outBookings.get(0).getOwnerEmail()).build())
+                        .requestId(outBookings.get(0).getItemRequestId()).build())
+                .booker(UserDto.builder().id(outBookings.get(0).getBookerId())
+                        .name(outBookings.get(0).getBookerName())
+                        .email(outBookings.get(0).getBookerEmail()).build())
                 .status(outBookings.get(0).getStatus()).build());
 
         Mockito.when(userRepository.existsById(userId)).thenReturn(true);
-        Mockito.when(bookingRepository.findByBookerIdAndStatusOrderByStartDesc(userId, BookingStatus.WAITING))
+        Mockito.when(bookingRepository.findStatusBookingsByBookerId(userId, BookingStatus.WAITING,
+                        OffsetPageRequest.of(from, size)))
                 .thenReturn(outBookings);
 
-        List<BookingDto> actualBookingsDto = bookingService.getAllBookingsByUserId(userId, state);
+        List<BookingDto> actualBookingsDto = bookingService.getAllBookingsByUserId(userId, state, from, size, null);
 
         Assertions.assertEquals(expectedBookingsDto.get(0).getId(), actualBookingsDto.get(0).getId());
         Mockito.verify(userRepository, Mockito.times(1)).existsById(userId);
         Mockito.verifyNoMoreInteractions(userRepository);
         Mockito.verify(bookingRepository, Mockito.times(1))
-                .findByBookerIdAndStatusOrderByStartDesc(userId, BookingStatus.WAITING);
+                .findStatusBookingsByBookerId(userId, BookingStatus.WAITING,
+                        OffsetPageRequest.of(from, size));
         Mockito.verifyNoMoreInteractions(bookingRepository);
         Mockito.verify(bookingMapper, Mockito.times(1)).toBookingDto(outBooking);
         Mockito.verifyNoMoreInteractions(bookingMapper);
@@ -915,46 +975,45 @@ public class BookingServiceImplTest {
     void getAllBookingsByUserId_rejectedRreturnsListBookingDtoWhenFound() {
         Long userId = 1L;
         String state = "REJECTED";
+        Integer from = 0;
+        Integer size = 10;
         LocalDateTime today = LocalDateTime.of(2023, 12, 2, 17, 0);
 
-        Booking outBooking = Booking.builder().id(1L).start(today.plusDays(1)).end(today.plusDays(2))
-                .item(Item.builder().id(1L).name("Дрель").description("Простая дрель").available(true)
-                        .owner(User.builder().id(userId).name("user").email("user@user.com").build())
-                        .request(ItemRequest.builder().id(1L).description("Хотел бы воспользоваться Дрелью")
-                                .requestor(User.builder().id(2L).name("user").email("user@user.com").build())
-                                .created(today.minusDays(1)).build()).build())
-                .booker(User.builder().id(2L).name("user2").email("user2@user.com").build())
-                .status(BookingStatus.APPROVED).build();
+        BookingProjection outBooking = new BookingProjection(1L, today.plusDays(1), today.plusDays(2),
+                BookingStatus.APPROVED, 1L, "Дрель", "Простая дрель", true, 1L, userId, "user", "user@user.com", 2L,
+                "user2", "user2@user.com");
 
-        List<Booking> outBookings = Collections.singletonList(outBooking);
+        List<BookingProjection> outBookings = Collections.singletonList(outBooking);
 
         List<BookingDto> expectedBookingsDto = Collections.singletonList(BookingDto.builder()
                 .id(outBookings.get(0).getId()).start(outBookings.get(0).getStart())
                 .end(outBookings.get(0).getEnd())
-                .item(ItemDto.builder().id(outBookings.get(0).getItem().getId())
-                        .name(outBookings.get(0).getItem().getName())
-                        .description(outBookings.get(0).getItem().getDescription())
-                        .available(outBookings.get(0).getItem().getAvailable()).owner(UserDto.builder()
-                                .id(outBookings.get(0).getItem().getOwner().getId())
-                                .name(outBookings.get(0).getItem().getOwner().getName())
-                                .email(outBookings.get(0).getItem().getOwner().getEmail()).build())
-                        .requestId(outBookings.get(0).getItem().getRequest().getId()).build())
-                .booker(UserDto.builder().id(outBookings.get(0).getBooker().getId())
-                        .name(outBookings.get(0).getBooker().getName())
-                        .email(outBookings.get(0).getBooker().getEmail()).build())
+                .item(ItemDto.builder().id(outBookings.get(0).getItemId())
+                        .name(outBookings.get(0).getItemName())
+                        .description(outBookings.get(0).getItemDescription())
+                        .available(outBookings.get(0).getItemAvailable()).owner(UserDto.builder()
+                                .id(outBookings.get(0).getOwnerId())
+                                .name(outBookings.get(0).getOwnerName())
+                                .email(outBookings.get(0).getOwnerEmail()).build())
+                        .requestId(outBookings.get(0).getItemRequestId()).build())
+                .booker(UserDto.builder().id(outBookings.get(0).getBookerId())
+                        .name(outBookings.get(0).getBookerName())
+                        .email(outBookings.get(0).getBookerEmail()).build())
                 .status(outBookings.get(0).getStatus()).build());
 
         Mockito.when(userRepository.existsById(userId)).thenReturn(true);
-        Mockito.when(bookingRepository.findByBookerIdAndStatusOrderByStartDesc(userId, BookingStatus.REJECTED))
+        Mockito.when(bookingRepository.findStatusBookingsByBookerId(userId, BookingStatus.REJECTED,
+                        OffsetPageRequest.of(from, size)))
                 .thenReturn(outBookings);
 
-        List<BookingDto> actualBookingsDto = bookingService.getAllBookingsByUserId(userId, state);
+        List<BookingDto> actualBookingsDto = bookingService.getAllBookingsByUserId(userId, state, from, size, null);
 
         Assertions.assertEquals(expectedBookingsDto.get(0).getId(), actualBookingsDto.get(0).getId());
         Mockito.verify(userRepository, Mockito.times(1)).existsById(userId);
         Mockito.verifyNoMoreInteractions(userRepository);
         Mockito.verify(bookingRepository, Mockito.times(1))
-                .findByBookerIdAndStatusOrderByStartDesc(userId, BookingStatus.REJECTED);
+                .findStatusBookingsByBookerId(userId, BookingStatus.REJECTED,
+                        OffsetPageRequest.of(from, size));
         Mockito.verifyNoMoreInteractions(bookingRepository);
         Mockito.verify(bookingMapper, Mockito.times(1)).toBookingDto(outBooking);
         Mockito.verifyNoMoreInteractions(bookingMapper);
@@ -964,11 +1023,13 @@ public class BookingServiceImplTest {
     void getAllBookingsByUserId_returnsEntityValidationException() {
         Long userId = 1L;
         String state = "TOP";
+        Integer from = 0;
+        Integer size = 10;
 
         Mockito.when(userRepository.existsById(userId)).thenReturn(true);
 
         Exception exception = assertThrows(EntityValidationException.class, () ->
-                bookingService.getAllBookingsByUserId(userId, state));
+                bookingService.getAllBookingsByUserId(userId, state, from, size, null));
 
         assertTrue(exception.getMessage().contains(String.format("Unknown state: %s", state)));
         Mockito.verify(userRepository, Mockito.times(1)).existsById(userId);
@@ -979,11 +1040,13 @@ public class BookingServiceImplTest {
     void getAllBookingsByUserId_returnsEntityNotFoundException() {
         Long userId = 1L;
         String state = "ALL";
+        Integer from = 0;
+        Integer size = 10;
 
         Mockito.when(userRepository.existsById(userId)).thenReturn(false);
 
         Exception exception = assertThrows(EntityNotFoundException.class, () ->
-                bookingService.getAllBookingsByUserId(userId, state));
+                bookingService.getAllBookingsByUserId(userId, state, from, size, null));
 
         assertTrue(exception.getMessage().contains("Попытка получения данных о бронировании несуществующим " +
                 "пользователем"));
@@ -995,6 +1058,8 @@ public class BookingServiceImplTest {
     void getAllBookingsForAllItemsByUserId_allRreturnsListBookingDtoWhenFound() {
         Long userId = 1L;
         String state = "ALL";
+        Integer from = 0;
+        Integer size = 10;
         LocalDateTime today = LocalDateTime.of(2023, 12, 2, 17, 0);
 
         Booking outBooking = Booking.builder().id(1L).start(today.plusDays(1)).end(today.plusDays(2))
@@ -1025,15 +1090,17 @@ public class BookingServiceImplTest {
                 .status(outBookings.get(0).getStatus()).build());
 
         Mockito.when(userRepository.existsById(userId)).thenReturn(true);
-        Mockito.when(bookingRepository.findAllBookingsForAllItemsByUserId(userId)).thenReturn(outBookings);
+        Mockito.when(bookingRepository.findAllBookingsForAllItemsByUserId(userId, OffsetPageRequest.of(from, size)))
+                .thenReturn(outBookings);
 
-        List<BookingDto> actualBookingsDto = bookingService.getAllBookingsForAllItemsByUserId(userId, state);
+        List<BookingDto> actualBookingsDto = bookingService.getAllBookingsForAllItemsByUserId(userId, state, from,
+                size, null);
 
         Assertions.assertEquals(expectedBookingsDto.get(0).getId(), actualBookingsDto.get(0).getId());
         Mockito.verify(userRepository, Mockito.times(1)).existsById(userId);
         Mockito.verifyNoMoreInteractions(userRepository);
         Mockito.verify(bookingRepository, Mockito.times(1))
-                .findAllBookingsForAllItemsByUserId(userId);
+                .findAllBookingsForAllItemsByUserId(userId, OffsetPageRequest.of(from, size));
         Mockito.verifyNoMoreInteractions(bookingRepository);
         Mockito.verify(bookingMapper, Mockito.times(1)).toBookingDto(outBooking);
         Mockito.verifyNoMoreInteractions(bookingMapper);
@@ -1043,6 +1110,8 @@ public class BookingServiceImplTest {
     void getAllBookingsForAllItemsByUserId_currentRreturnsListBookingDtoWhenFound() {
         Long userId = 1L;
         String state = "CURRENT";
+        Integer from = 0;
+        Integer size = 10;
         LocalDateTime today = LocalDateTime.of(2023, 12, 2, 17, 0);
 
         Booking outBooking = Booking.builder().id(1L).start(today.plusDays(1)).end(today.plusDays(2))
@@ -1073,21 +1142,23 @@ public class BookingServiceImplTest {
                 .status(outBookings.get(0).getStatus()).build());
 
         Mockito.when(userRepository.existsById(userId)).thenReturn(true);
-        Mockito.when(bookingRepository.findCurrentBookingsForAllItemsByUserId(userId, today)).thenReturn(outBookings);
+        Mockito.when(bookingRepository.findCurrentBookingsForAllItemsByUserId(userId, today,
+                OffsetPageRequest.of(from, size))).thenReturn(outBookings);
 
         List<BookingDto> actualBookingsDto;
         try (MockedStatic<LocalDateTime> mockedStatic = mockStatic(LocalDateTime.class,
                 Mockito.CALLS_REAL_METHODS)) {
             mockedStatic.when(LocalDateTime::now).thenReturn(today);
 
-            actualBookingsDto = bookingService.getAllBookingsForAllItemsByUserId(userId, state);
+            actualBookingsDto = bookingService.getAllBookingsForAllItemsByUserId(userId, state, from, size, null);
         }
 
         Assertions.assertEquals(expectedBookingsDto.get(0).getId(), actualBookingsDto.get(0).getId());
         Mockito.verify(userRepository, Mockito.times(1)).existsById(userId);
         Mockito.verifyNoMoreInteractions(userRepository);
         Mockito.verify(bookingRepository, Mockito.times(1))
-                .findCurrentBookingsForAllItemsByUserId(userId, today);
+                .findCurrentBookingsForAllItemsByUserId(userId, today,
+                OffsetPageRequest.of(from, size));
         Mockito.verifyNoMoreInteractions(bookingRepository);
         Mockito.verify(bookingMapper, Mockito.times(1)).toBookingDto(outBooking);
         Mockito.verifyNoMoreInteractions(bookingMapper);
@@ -1097,6 +1168,8 @@ public class BookingServiceImplTest {
     void getAllBookingsForAllItemsByUserId_pastRreturnsListBookingDtoWhenFound() {
         Long userId = 1L;
         String state = "PAST";
+        Integer from = 0;
+        Integer size = 10;
         LocalDateTime today = LocalDateTime.of(2023, 12, 2, 17, 0);
 
         Booking outBooking = Booking.builder().id(1L).start(today.plusDays(1)).end(today.plusDays(2))
@@ -1127,21 +1200,23 @@ public class BookingServiceImplTest {
                 .status(outBookings.get(0).getStatus()).build());
 
         Mockito.when(userRepository.existsById(userId)).thenReturn(true);
-        Mockito.when(bookingRepository.findPastBookingsForAllItemsByUserId(userId, today)).thenReturn(outBookings);
+        Mockito.when(bookingRepository.findPastBookingsForAllItemsByUserId(userId, today,
+                OffsetPageRequest.of(from, size))).thenReturn(outBookings);
 
         List<BookingDto> actualBookingsDto;
         try (MockedStatic<LocalDateTime> mockedStatic = mockStatic(LocalDateTime.class,
                 Mockito.CALLS_REAL_METHODS)) {
             mockedStatic.when(LocalDateTime::now).thenReturn(today);
 
-            actualBookingsDto = bookingService.getAllBookingsForAllItemsByUserId(userId, state);
+            actualBookingsDto = bookingService.getAllBookingsForAllItemsByUserId(userId, state, from, size, null);
         }
 
         Assertions.assertEquals(expectedBookingsDto.get(0).getId(), actualBookingsDto.get(0).getId());
         Mockito.verify(userRepository, Mockito.times(1)).existsById(userId);
         Mockito.verifyNoMoreInteractions(userRepository);
         Mockito.verify(bookingRepository, Mockito.times(1))
-                .findPastBookingsForAllItemsByUserId(userId, today);
+                .findPastBookingsForAllItemsByUserId(userId, today,
+                OffsetPageRequest.of(from, size));
         Mockito.verifyNoMoreInteractions(bookingRepository);
         Mockito.verify(bookingMapper, Mockito.times(1)).toBookingDto(outBooking);
         Mockito.verifyNoMoreInteractions(bookingMapper);
@@ -1151,6 +1226,8 @@ public class BookingServiceImplTest {
     void getAllBookingsForAllItemsByUserId_futureRreturnsListBookingDtoWhenFound() {
         Long userId = 1L;
         String state = "FUTURE";
+        Integer from = 0;
+        Integer size = 10;
         LocalDateTime today = LocalDateTime.of(2023, 12, 2, 17, 0);
 
         Booking outBooking = Booking.builder().id(1L).start(today.plusDays(1)).end(today.plusDays(2))
@@ -1181,21 +1258,23 @@ public class BookingServiceImplTest {
                 .status(outBookings.get(0).getStatus()).build());
 
         Mockito.when(userRepository.existsById(userId)).thenReturn(true);
-        Mockito.when(bookingRepository.findFutureBookingsForAllItemsByUserId(userId, today)).thenReturn(outBookings);
+        Mockito.when(bookingRepository.findFutureBookingsForAllItemsByUserId(userId, today,
+                OffsetPageRequest.of(from, size))).thenReturn(outBookings);
 
         List<BookingDto> actualBookingsDto;
         try (MockedStatic<LocalDateTime> mockedStatic = mockStatic(LocalDateTime.class,
                 Mockito.CALLS_REAL_METHODS)) {
             mockedStatic.when(LocalDateTime::now).thenReturn(today);
 
-            actualBookingsDto = bookingService.getAllBookingsForAllItemsByUserId(userId, state);
+            actualBookingsDto = bookingService.getAllBookingsForAllItemsByUserId(userId, state, from, size, null);
         }
 
         Assertions.assertEquals(expectedBookingsDto.get(0).getId(), actualBookingsDto.get(0).getId());
         Mockito.verify(userRepository, Mockito.times(1)).existsById(userId);
         Mockito.verifyNoMoreInteractions(userRepository);
         Mockito.verify(bookingRepository, Mockito.times(1))
-                .findFutureBookingsForAllItemsByUserId(userId, today);
+                .findFutureBookingsForAllItemsByUserId(userId, today,
+                OffsetPageRequest.of(from, size));
         Mockito.verifyNoMoreInteractions(bookingRepository);
         Mockito.verify(bookingMapper, Mockito.times(1)).toBookingDto(outBooking);
         Mockito.verifyNoMoreInteractions(bookingMapper);
@@ -1205,6 +1284,8 @@ public class BookingServiceImplTest {
     void getAllBookingsForAllItemsByUserId_waitingRreturnsListBookingDtoWhenFound() {
         Long userId = 1L;
         String state = "WAITING";
+        Integer from = 0;
+        Integer size = 10;
         LocalDateTime today = LocalDateTime.of(2023, 12, 2, 17, 0);
 
         Booking outBooking = Booking.builder().id(1L).start(today.plusDays(1)).end(today.plusDays(2))
@@ -1235,16 +1316,19 @@ public class BookingServiceImplTest {
                 .status(outBookings.get(0).getStatus()).build());
 
         Mockito.when(userRepository.existsById(userId)).thenReturn(true);
-        Mockito.when(bookingRepository.findStatusBookingsForAllItemsByUserId(userId, BookingStatus.WAITING))
+        Mockito.when(bookingRepository.findStatusBookingsForAllItemsByUserId(userId, BookingStatus.WAITING,
+                        OffsetPageRequest.of(from, size)))
                 .thenReturn(outBookings);
 
-        List<BookingDto> actualBookingsDto = bookingService.getAllBookingsForAllItemsByUserId(userId, state);
+        List<BookingDto> actualBookingsDto = bookingService.getAllBookingsForAllItemsByUserId(userId, state, from,
+                size, null);
 
         Assertions.assertEquals(expectedBookingsDto.get(0).getId(), actualBookingsDto.get(0).getId());
         Mockito.verify(userRepository, Mockito.times(1)).existsById(userId);
         Mockito.verifyNoMoreInteractions(userRepository);
         Mockito.verify(bookingRepository, Mockito.times(1))
-                .findStatusBookingsForAllItemsByUserId(userId, BookingStatus.WAITING);
+                .findStatusBookingsForAllItemsByUserId(userId, BookingStatus.WAITING,
+                        OffsetPageRequest.of(from, size));
         Mockito.verifyNoMoreInteractions(bookingRepository);
         Mockito.verify(bookingMapper, Mockito.times(1)).toBookingDto(outBooking);
         Mockito.verifyNoMoreInteractions(bookingMapper);
@@ -1254,6 +1338,8 @@ public class BookingServiceImplTest {
     void getAllBookingsForAllItemsByUserId_rejectedRreturnsListBookingDtoWhenFound() {
         Long userId = 1L;
         String state = "REJECTED";
+        Integer from = 0;
+        Integer size = 10;
         LocalDateTime today = LocalDateTime.of(2023, 12, 2, 17, 0);
 
         Booking outBooking = Booking.builder().id(1L).start(today.plusDays(1)).end(today.plusDays(2))
@@ -1284,16 +1370,19 @@ public class BookingServiceImplTest {
                 .status(outBookings.get(0).getStatus()).build());
 
         Mockito.when(userRepository.existsById(userId)).thenReturn(true);
-        Mockito.when(bookingRepository.findStatusBookingsForAllItemsByUserId(userId, BookingStatus.REJECTED))
+        Mockito.when(bookingRepository.findStatusBookingsForAllItemsByUserId(userId, BookingStatus.REJECTED,
+                        OffsetPageRequest.of(from, size)))
                 .thenReturn(outBookings);
 
-        List<BookingDto> actualBookingsDto = bookingService.getAllBookingsForAllItemsByUserId(userId, state);
+        List<BookingDto> actualBookingsDto = bookingService.getAllBookingsForAllItemsByUserId(userId, state, from,
+                size, null);
 
         Assertions.assertEquals(expectedBookingsDto.get(0).getId(), actualBookingsDto.get(0).getId());
         Mockito.verify(userRepository, Mockito.times(1)).existsById(userId);
         Mockito.verifyNoMoreInteractions(userRepository);
         Mockito.verify(bookingRepository, Mockito.times(1))
-                .findStatusBookingsForAllItemsByUserId(userId, BookingStatus.REJECTED);
+                .findStatusBookingsForAllItemsByUserId(userId, BookingStatus.REJECTED,
+                        OffsetPageRequest.of(from, size));
         Mockito.verifyNoMoreInteractions(bookingRepository);
         Mockito.verify(bookingMapper, Mockito.times(1)).toBookingDto(outBooking);
         Mockito.verifyNoMoreInteractions(bookingMapper);
@@ -1303,11 +1392,13 @@ public class BookingServiceImplTest {
     void getAllBookingsForAllItemsByUserId_returnsEntityValidationException() {
         Long userId = 1L;
         String state = "TOP";
+        Integer from = 0;
+        Integer size = 10;
 
         Mockito.when(userRepository.existsById(userId)).thenReturn(true);
 
         Exception exception = assertThrows(EntityValidationException.class, () ->
-                bookingService.getAllBookingsForAllItemsByUserId(userId, state));
+                bookingService.getAllBookingsForAllItemsByUserId(userId, state, from, size, null));
 
         assertTrue(exception.getMessage().contains(String.format("Unknown state: %s", state)));
         Mockito.verify(userRepository, Mockito.times(1)).existsById(userId);
@@ -1318,11 +1409,13 @@ public class BookingServiceImplTest {
     void getAllBookingsForAllItemsByUserId_returnsEntityNotFoundException() {
         Long userId = 1L;
         String state = "ALL";
+        Integer from = 0;
+        Integer size = 10;
 
         Mockito.when(userRepository.existsById(userId)).thenReturn(false);
 
         Exception exception = assertThrows(EntityNotFoundException.class, () ->
-                bookingService.getAllBookingsForAllItemsByUserId(userId, state));
+                bookingService.getAllBookingsForAllItemsByUserId(userId, state, from, size, null));
 
         assertTrue(exception.getMessage().contains("Попытка получения данных о бронировании несуществующим " +
                 "пользователем"));
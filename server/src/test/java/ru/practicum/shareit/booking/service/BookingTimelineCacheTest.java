@@ -0,0 +1,156 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.mapper.BookingMapperImpl;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.config.PrimaryReadTemplate;
+import ru.practicum.shareit.item.mapper.CommentMapperImpl;
+import ru.practicum.shareit.item.mapper.ItemMapperImpl;
+import ru.practicum.shareit.request.mapper.ItemRequestMapperImpl;
+import ru.practicum.shareit.user.mapper.UserMapperImpl;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@SpringBootTest
+@ContextConfiguration(classes = {UserMapperImpl.class, ItemMapperImpl.class, ItemRequestMapperImpl.class,
+        CommentMapperImpl.class, BookingMapperImpl.class, PrimaryReadTemplate.class, BookingTimelineCache.class})
+public class BookingTimelineCacheTest {
+
+    @MockBean
+    private BookingRepository bookingRepository;
+    @SpyBean
+    private BookingMapper bookingMapper;
+    @Autowired
+    private BookingTimelineCache bookingTimelineCache;
+
+    @Test
+    void getTimeline_returnsCachedTimelineUntilNextBookingStarts() {
+        Long itemId = 1L;
+        LocalDateTime today = LocalDateTime.of(2023, 12, 4, 17, 0);
+        User booker = User.builder().id(2L).name("user2").email("user2@user.com").build();
+
+        Booking lastBooking = Booking.builder().id(1L).start(today.minusDays(7)).end(today.minusDays(6))
+                .booker(booker).status(BookingStatus.APPROVED).build();
+        Booking nextBooking = Booking.builder().id(2L).start(today.plusDays(1)).end(today.plusDays(2))
+                .booker(booker).status(BookingStatus.APPROVED).build();
+
+        Mockito.when(bookingRepository.findLastAndNextBookingsByItemIds(List.of(itemId), today,
+                BookingStatus.APPROVED)).thenReturn(List.of(lastBooking, nextBooking));
+        Mockito.when(bookingRepository.findLastAndNextBookingsByItemIds(List.of(itemId), today.plusDays(1)
+                .plusHours(1), BookingStatus.APPROVED)).thenReturn(List.of(nextBooking));
+
+        BookingTimelineCache.BookingTimeline timeline = bookingTimelineCache.getTimeline(itemId, today);
+        BookingTimelineCache.BookingTimeline cachedTimeline = bookingTimelineCache.getTimeline(itemId,
+                today.plusMinutes(5));
+        BookingTimelineCache.BookingTimeline expiredTimeline = bookingTimelineCache.getTimeline(itemId,
+                today.plusDays(1).plusHours(1));
+
+        Assertions.assertEquals(lastBooking.getId(), timeline.getLastBooking().getId());
+        Assertions.assertEquals(nextBooking.getId(), timeline.getNextBooking().getId());
+        Assertions.assertSame(timeline, cachedTimeline);
+        Assertions.assertEquals(nextBooking.getId(), expiredTimeline.getLastBooking().getId());
+        Assertions.assertNull(expiredTimeline.getNextBooking());
+        Mockito.verify(bookingRepository, Mockito.times(1)).findLastAndNextBookingsByItemIds(List.of(itemId),
+                today, BookingStatus.APPROVED);
+        Mockito.verify(bookingRepository, Mockito.times(1)).findLastAndNextBookingsByItemIds(List.of(itemId),
+                today.plusDays(1).plusHours(1), BookingStatus.APPROVED);
+        Mockito.verifyNoMoreInteractions(bookingRepository);
+    }
+
+    @Test
+    void evict_forcesReload() {
+        Long itemId = 2L;
+        LocalDateTime today = LocalDateTime.of(2023, 12, 4, 17, 0);
+
+        Mockito.when(bookingRepository.findLastAndNextBookingsByItemIds(List.of(itemId), today,
+                BookingStatus.APPROVED)).thenReturn(List.of());
+
+        bookingTimelineCache.getTimeline(itemId, today);
+        bookingTimelineCache.evict(itemId);
+        BookingTimelineCache.BookingTimeline timeline = bookingTimelineCache.getTimeline(itemId, today);
+
+        Assertions.assertNull(timeline.getLastBooking());
+        Assertions.assertNull(timeline.getNextBooking());
+        Mockito.verify(bookingRepository, Mockito.times(2)).findLastAndNextBookingsByItemIds(List.of(itemId),
+                today, BookingStatus.APPROVED);
+        Mockito.verifyNoMoreInteractions(bookingRepository);
+    }
+
+    @Test
+    void getTimeline_doesNotCacheLoadThatRacedWithEviction() {
+        Long itemId = 3L;
+        LocalDateTime today = LocalDateTime.of(2023, 12, 4, 17, 0);
+
+        Mockito.when(bookingRepository.findLastAndNextBookingsByItemIds(List.of(itemId), today,
+                BookingStatus.APPROVED)).thenAnswer(invocation -> {
+                    bookingTimelineCache.evict(itemId);
+                    return List.of();
+                }).thenReturn(List.of());
+
+        bookingTimelineCache.getTimeline(itemId, today);
+        bookingTimelineCache.getTimeline(itemId, today);
+        bookingTimelineCache.getTimeline(itemId, today);
+
+        Mockito.verify(bookingRepository, Mockito.times(2)).findLastAndNextBookingsByItemIds(List.of(itemId),
+                today, BookingStatus.APPROVED);
+        Mockito.verifyNoMoreInteractions(bookingRepository);
+    }
+
+    @Test
+    void evict_waitsForTransactionCommit() {
+        Long itemId = 4L;
+        LocalDateTime today = LocalDateTime.of(2023, 12, 4, 17, 0);
+
+        Mockito.when(bookingRepository.findLastAndNextBookingsByItemIds(List.of(itemId), today,
+                BookingStatus.APPROVED)).thenReturn(List.of());
+
+        BookingTimelineCache.BookingTimeline timeline = bookingTimelineCache.getTimeline(itemId, today);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            bookingTimelineCache.evict(itemId);
+
+            Assertions.assertSame(timeline, bookingTimelineCache.getTimeline(itemId, today));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        Assertions.assertNotSame(timeline, bookingTimelineCache.getTimeline(itemId, today));
+        Mockito.verify(bookingRepository, Mockito.times(2)).findLastAndNextBookingsByItemIds(List.of(itemId),
+                today, BookingStatus.APPROVED);
+    }
+
+    @Test
+    void getTimeline_reloadsTimelineWithoutNextBookingAfterMaxAge() {
+        Long itemId = 5L;
+        LocalDateTime today = LocalDateTime.of(2023, 12, 4, 17, 0);
+
+        Mockito.when(bookingRepository.findLastAndNextBookingsByItemIds(Mockito.eq(List.of(itemId)),
+                Mockito.any(LocalDateTime.class), Mockito.eq(BookingStatus.APPROVED))).thenReturn(List.of());
+
+        BookingTimelineCache.BookingTimeline timeline = bookingTimelineCache.getTimeline(itemId, today);
+
+        Assertions.assertSame(timeline, bookingTimelineCache.getTimeline(itemId, today.plusMinutes(9)));
+        Assertions.assertNotSame(timeline, bookingTimelineCache.getTimeline(itemId, today.plusMinutes(10)));
+        Mockito.verify(bookingRepository, Mockito.times(1)).findLastAndNextBookingsByItemIds(List.of(itemId),
+                today, BookingStatus.APPROVED);
+        Mockito.verify(bookingRepository, Mockito.times(1)).findLastAndNextBookingsByItemIds(List.of(itemId),
+                today.plusMinutes(10), BookingStatus.APPROVED);
+    }
+}
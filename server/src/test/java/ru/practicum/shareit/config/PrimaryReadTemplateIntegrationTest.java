@@ -0,0 +1,125 @@
+package ru.practicum.shareit.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingDtoOwn;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingInterval;
+import ru.practicum.shareit.booking.service.BookingIntervalIndex;
+import ru.practicum.shareit.booking.service.BookingTimelineCache;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.user.dao.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.yml")
+public class PrimaryReadTemplateIntegrationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private BookingIntervalIndex bookingIntervalIndex;
+    @Autowired
+    private BookingTimelineCache bookingTimelineCache;
+    @Autowired
+    private ItemSearchIndex itemSearchIndex;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    private TransactionTemplate readOnlyTransaction;
+    private User owner;
+    private User booker;
+    private Item item;
+    private Booking booking;
+
+    @BeforeEach
+    void setUp() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+
+        owner = userRepository.save(User.builder().name("owner").email("owner@user.com").build());
+        booker = userRepository.save(User.builder().name("booker").email("booker@user.com").build());
+        item = itemRepository.save(Item.builder().name("Реплика").description("Вещь есть только в основной базе")
+                .available(true).owner(owner).build());
+        booking = bookingRepository.save(Booking.builder().start(LocalDateTime.of(2030, 1, 1, 12, 0))
+                .end(LocalDateTime.of(2030, 1, 2, 12, 0)).item(item).booker(booker)
+                .status(BookingStatus.APPROVED).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteById(booking.getId());
+        itemRepository.deleteById(item.getId());
+        userRepository.deleteById(booker.getId());
+        userRepository.deleteById(owner.getId());
+    }
+
+    @Test
+    void caches_loadFromPrimaryWhenLoadIsFirstReadOfTransaction() {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            assertThat(userRepository.existsById(owner.getId()), is(true));
+            assertThat(userRepository.findById(owner.getId()).isPresent(), is(true));
+        });
+        readOnlyTransaction.executeWithoutResult(status ->
+                assertThat(findOverlappingBookingIds(), equalTo(List.of(booking.getId()))));
+        readOnlyTransaction.executeWithoutResult(status ->
+                assertThat(getNextBooking(), notNullValue()));
+    }
+
+    @Test
+    void caches_skipResultsReadFromReplica() {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            assertThat(userRepository.findById(owner.getId()).isPresent(), is(false));
+
+            assertThat(userRepository.existsById(owner.getId()), is(false));
+            assertThat(findOverlappingBookingIds(), empty());
+            assertThat(getNextBooking(), nullValue());
+        });
+
+        assertThat(cacheManager.getCache(UserRepository.USERS_CACHE).get(owner.getId()), nullValue());
+        readOnlyTransaction.executeWithoutResult(status -> {
+            assertThat(findOverlappingBookingIds(), equalTo(List.of(booking.getId())));
+            assertThat(getNextBooking().getId(), equalTo(booking.getId()));
+        });
+    }
+
+    @Test
+    void rebuild_loadsSearchIndexFromPrimary() {
+        itemSearchIndex.rebuild();
+
+        assertThat(itemSearchIndex.search("реплика", 0, 10, null), equalTo(List.of(item.getId())));
+    }
+
+    private List<Long> findOverlappingBookingIds() {
+        return bookingIntervalIndex.findOverlapping(item.getId(), LocalDateTime.of(2030, 1, 1, 0, 0),
+                        LocalDateTime.of(2030, 1, 3, 0, 0)).stream()
+                .map(BookingInterval::getBookingId).collect(Collectors.toList());
+    }
+
+    private BookingDtoOwn getNextBooking() {
+        return bookingTimelineCache.getTimeline(item.getId(), LocalDateTime.of(2029, 12, 31, 0, 0)).getNextBooking();
+    }
+}
@@ -0,0 +1,125 @@
+package ru.practicum.shareit.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class ReadWriteRoutingDataSourceTest {
+
+    private final DataSource primary = Mockito.mock(DataSource.class);
+    private final DataSource replica1 = Mockito.mock(DataSource.class);
+    private final DataSource replica2 = Mockito.mock(DataSource.class);
+    private final Connection primaryConnection = Mockito.mock(Connection.class);
+    private final Connection replica1Connection = Mockito.mock(Connection.class);
+    private final Connection replica2Connection = Mockito.mock(Connection.class);
+    private ReadWriteRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+
+        replicas.put("replica-1", replica1);
+        replicas.put("replica-2", replica2);
+        routingDataSource = new ReadWriteRoutingDataSource(primary, replicas, 1);
+        routingDataSource.afterPropertiesSet();
+
+        Mockito.when(primary.getConnection()).thenReturn(primaryConnection);
+        Mockito.when(replica1.getConnection()).thenReturn(replica1Connection);
+        Mockito.when(replica2.getConnection()).thenReturn(replica2Connection);
+        Mockito.when(replica1Connection.isValid(1)).thenReturn(true);
+        Mockito.when(replica2Connection.isValid(1)).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        if (TransactionSynchronizationManager.isSynchronizationActive())
+            TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void getConnection_writesGoToPrimary() throws SQLException {
+        Assertions.assertSame(primaryConnection, routingDataSource.getConnection());
+        Mockito.verifyNoInteractions(replica1, replica2);
+    }
+
+    @Test
+    void getConnection_readOnlyTransactionsAreSpreadOverReplicas() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        Assertions.assertSame(replica1Connection, routingDataSource.getConnection());
+        Assertions.assertSame(replica2Connection, routingDataSource.getConnection());
+        Assertions.assertSame(replica1Connection, routingDataSource.getConnection());
+        Mockito.verifyNoInteractions(primary);
+    }
+
+    @Test
+    void getConnection_fallsBackToPrimaryWhenReplicasAreDown() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        Mockito.when(replica1.getConnection()).thenThrow(new SQLException("Connection refused"));
+        Mockito.when(replica2Connection.isValid(1)).thenReturn(false);
+
+        routingDataSource.checkReplicas();
+
+        Assertions.assertSame(primaryConnection, routingDataSource.getConnection());
+        Assertions.assertSame(primaryConnection, routingDataSource.getConnection());
+
+        Mockito.when(replica2Connection.isValid(1)).thenReturn(true);
+        routingDataSource.checkReplicas();
+
+        Assertions.assertSame(replica2Connection, routingDataSource.getConnection());
+    }
+
+    @Test
+    void getConnection_marksReplicaDownWhenConnectionFails() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        Mockito.when(replica1.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        Assertions.assertSame(primaryConnection, routingDataSource.getConnection());
+        Assertions.assertSame(replica2Connection, routingDataSource.getConnection());
+        Assertions.assertSame(replica2Connection, routingDataSource.getConnection());
+        Mockito.verify(replica1, Mockito.times(1)).getConnection();
+    }
+
+    @Test
+    void readFromPrimary_routesReadOnlyLoadToPrimary() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        Connection connection = routingDataSource.readFromPrimary(() -> {
+            try {
+                return routingDataSource.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        Assertions.assertSame(primaryConnection, connection);
+        Assertions.assertSame(replica1Connection, routingDataSource.getConnection());
+    }
+
+    @Test
+    void isBoundToReplica_tracksConnectionOfCurrentTransaction() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        TransactionSynchronizationManager.initSynchronization();
+
+        Assertions.assertFalse(routingDataSource.isBoundToReplica());
+
+        routingDataSource.getConnection();
+
+        Assertions.assertTrue(routingDataSource.isBoundToReplica());
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(0));
+
+        Assertions.assertFalse(routingDataSource.isBoundToReplica());
+    }
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.config;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+@Profile("test")
+@Configuration
+public class ReplicaMigrationConfig {
+
+    @Bean
+    public FlywayMigrationStrategy replicaMigrationStrategy(ObjectProvider<ReplicaDataSourceProperties> properties) {
+        return flyway -> {
+            flyway.migrate();
+            properties.ifAvailable(replicaProperties -> replicaProperties.getReplicas().forEach(replica ->
+                    Flyway.configure().configuration(flyway.getConfiguration())
+                            .dataSource(replica.getUrl(), replica.getUsername(), replica.getPassword())
+                            .load()
+                            .migrate()));
+        };
+    }
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.config;
+
+import org.apache.coyote.http11.Http11NioProtocol;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class VirtualThreadConfigTest {
+
+    @Test
+    void virtualThreadProtocolHandlerCustomizer_enablesTomcatVirtualThreads() {
+        Http11NioProtocol protocol = new Http11NioProtocol();
+
+        new VirtualThreadConfig().virtualThreadProtocolHandlerCustomizer().customize(protocol);
+
+        Assertions.assertEquals("true", protocol.getProperty("useVirtualThreads"));
+    }
+}
@@ -17,6 +17,7 @@ import ru.practicum.shareit.item.dto.ItemDtoOwn;
 import ru.practicum.shareit.item.dto.ItemDtoReq;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.utils.PageCursor;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
@@ -90,7 +91,7 @@ public class ItemControllerTest {
                 .owner(UserDto.builder().id(userId).name("user").email("user@user.com").build())
                 .request(null).lastBooking(null).nextBooking(null).comments(new ArrayList<>()).build());
 
-        Mockito.when(itemService.findItemsByUser(userId)).thenReturn(itemsDtoOwner);
+        Mockito.when(itemService.findItemsByUser(userId, from, size, null)).thenReturn(itemsDtoOwner);
 
         mockMvc.perform(MockMvcRequestBuilders.get("/items")
                         .header("X-Sharer-User-Id", userId)
@@ -100,7 +101,7 @@ public class ItemControllerTest {
                 .andExpect(MockMvcResultMatchers.status().isOk())
                 .andExpect(MockMvcResultMatchers.content().json(objectMapper.writeValueAsString(itemsDtoOwner)));
 
-        Mockito.verify(itemService, Mockito.times(1)).findItemsByUser(userId);
+        Mockito.verify(itemService, Mockito.times(1)).findItemsByUser(userId, from, size, null);
         Mockito.verifyNoMoreInteractions(itemService);
     }
 
@@ -115,7 +116,7 @@ public class ItemControllerTest {
                 .owner(UserDto.builder().id(userId).name("user").email("user@user.com").build())
                 .requestId(null).build());
 
-        Mockito.when(itemService.findItemsByText(userId, text)).thenReturn(itemsDto);
+        Mockito.when(itemService.findItemsByText(userId, text, from, size, null)).thenReturn(itemsDto);
 
         mockMvc.perform(MockMvcRequestBuilders.get("/items/search")
                         .header("X-Sharer-User-Id", userId)
@@ -126,7 +127,34 @@ public class ItemControllerTest {
                 .andExpect(MockMvcResultMatchers.status().isOk())
                 .andExpect(MockMvcResultMatchers.content().json(objectMapper.writeValueAsString(itemsDto)));
 
-        Mockito.verify(itemService, Mockito.times(1)).findItemsByText(userId, text);
+        Mockito.verify(itemService, Mockito.times(1)).findItemsByText(userId, text, from, size, null);
+        Mockito.verifyNoMoreInteractions(itemService);
+    }
+
+    @Test
+    void searchItems_fullPageReturnsNextCursor() throws Exception {
+        Long userId = 1L;
+        String text = "дрель";
+        Integer from = 0;
+        Integer size = 1;
+        List<ItemDto> itemsDto = Collections.singletonList(ItemDto.builder().id(7L).name("Дрель")
+                .description("Простая дрель").available(true)
+                .owner(UserDto.builder().id(userId).name("user").email("user@user.com").build())
+                .requestId(null).build());
+
+        Mockito.when(itemService.findItemsByText(userId, text, from, size, null)).thenReturn(itemsDto);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/items/search")
+                        .header("X-Sharer-User-Id", userId)
+                        .param("text", text)
+                        .param("from", from.toString())
+                        .param("size", size.toString()))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(PageCursor.NEXT_CURSOR_HEADER,
+                        PageCursor.of(7L).encode()));
+
+        Mockito.verify(itemService, Mockito.times(1)).findItemsByText(userId, text, from, size, null);
         Mockito.verifyNoMoreInteractions(itemService);
     }
 
@@ -4,17 +4,26 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.config.PrimaryReadTemplate;
+import ru.practicum.shareit.item.dto.ItemDtoOwnReq;
+import ru.practicum.shareit.item.dto.ItemProjection;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.dao.ItemRequestRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.dao.UserRepository;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.utils.OffsetPageRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 @DataJpaTest
+@Import(PrimaryReadTemplate.class)
 @TestPropertySource(locations = "classpath:application-test.yml")
 public class ItemRepositoryTest {
 
@@ -22,15 +31,15 @@ public class ItemRepositoryTest {
     private UserRepository userRepository;
     @Autowired
     private ItemRepository itemRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
 
     @Test
     @Transactional
     void findItemsByText_shouldReturnListItem() {
-        User user = User.builder().name("user").email("user@user.com").build();
-        List<Item> expectedItems = List.of(Item.builder().name("Дрель").description("Электроинструмент")
-                        .available(true).owner(user).build(),
-                Item.builder().name("Перфоратор").description("Эектродрель").available(true).owner(user)
-                        .build());
+        List<ItemProjection> expectedItems = List.of(new ItemProjection(null, "Дрель", "Электроинструмент", true,
+                        null, "user", "user@user.com", null),
+                new ItemProjection(null, "Перфоратор", "Эектродрель", true, null, "user", "user@user.com", null));
 
         User savedUser = userRepository.save(User.builder().name("user").email("user@user.com").build());
 
@@ -41,15 +50,86 @@ public class ItemRepositoryTest {
         itemRepository.save(Item.builder().name("Отвертка").description("Аккумуляторная отвертка").available(true)
                 .owner(savedUser).build());
 
-        List<Item> actualItems = itemRepository.findItemsByText("дрель");
+        List<ItemProjection> actualItems = itemRepository.findItemsByText("дрель", OffsetPageRequest.of(0, 10));
 
         Assertions.assertFalse(actualItems.isEmpty());
         Assertions.assertEquals(actualItems.size(), 2);
         Assertions.assertNotNull(actualItems.get(0).getId());
         Assertions.assertNotNull(actualItems.get(1).getId());
-        assertThat(expectedItems.get(0)).usingRecursiveComparison().ignoringFields("id", "owner.id")
+        assertThat(expectedItems.get(0)).usingRecursiveComparison().ignoringFields("id", "ownerId")
                 .isEqualTo(actualItems.get(0));
-        assertThat(expectedItems.get(1)).usingRecursiveComparison().ignoringFields("id", "owner.id")
+        assertThat(expectedItems.get(1)).usingRecursiveComparison().ignoringFields("id", "ownerId")
                 .isEqualTo(actualItems.get(1));
     }
+
+    @Test
+    @Transactional
+    void findItemsByText_shouldRankNameMatchesFirst() {
+        User user = userRepository.save(User.builder().name("user").email("user@user.com").build());
+
+        Item item1 = itemRepository.save(Item.builder().name("Перфоратор").description("Эектродрель").available(true)
+                .owner(user).build());
+        Item item2 = itemRepository.save(Item.builder().name("Дрель").description("Электроинструмент")
+                .available(true).owner(user).build());
+        itemRepository.save(Item.builder().name("Дрель ударная").description("Электроинструмент").available(false)
+                .owner(user).build());
+        Item item4 = itemRepository.save(Item.builder().name("Шуруповерт").description("Дрель-шуруповерт")
+                .available(true).owner(user).build());
+
+        List<ItemProjection> actualItems = itemRepository.findItemsByText("дрель", OffsetPageRequest.of(0, 10));
+
+        Assertions.assertEquals(3, actualItems.size());
+        Assertions.assertEquals(item2.getId(), actualItems.get(0).getId());
+        Assertions.assertEquals(item1.getId(), actualItems.get(1).getId());
+        Assertions.assertEquals(item4.getId(), actualItems.get(2).getId());
+    }
+
+    @Test
+    @Transactional
+    void findItemsByTextAfterCursor_shouldReturnNextPageInRankOrder() {
+        User user = userRepository.save(User.builder().name("user").email("user@user.com").build());
+
+        Item item1 = itemRepository.save(Item.builder().name("Перфоратор").description("Эектродрель").available(true)
+                .owner(user).build());
+        Item item2 = itemRepository.save(Item.builder().name("Дрель").description("Электроинструмент")
+                .available(true).owner(user).build());
+        Item item3 = itemRepository.save(Item.builder().name("Шуруповерт").description("Дрель-шуруповерт")
+                .available(true).owner(user).build());
+
+        List<ItemProjection> actualItems = itemRepository.findItemsByTextAfterCursor("дрель", item2.getId(),
+                OffsetPageRequest.of(0, 10));
+
+        Assertions.assertEquals(2, actualItems.size());
+        Assertions.assertEquals(item1.getId(), actualItems.get(0).getId());
+        Assertions.assertEquals(item3.getId(), actualItems.get(1).getId());
+    }
+
+    @Test
+    @Transactional
+    void findItemsByRequestIdIn_shouldReturnItemsOfAllRequests() {
+        LocalDateTime today = LocalDateTime.of(2023, 12, 2, 17, 0);
+
+        User user1 = userRepository.save(User.builder().name("user1").email("user1@user.com").build());
+        User user2 = userRepository.save(User.builder().name("user2").email("user2@user.com").build());
+        ItemRequest itemRequest1 = itemRequestRepository.save(ItemRequest.builder()
+                .description("Хотел бы воспользоваться дрелью").requestor(user2).created(today).build());
+        ItemRequest itemRequest2 = itemRequestRepository.save(ItemRequest.builder()
+                .description("Хотел бы воспользоваться отверткой").requestor(user2).created(today).build());
+        ItemRequest itemRequest3 = itemRequestRepository.save(ItemRequest.builder()
+                .description("Хотел бы воспользоваться щёткой").requestor(user2).created(today).build());
+
+        Item item1 = itemRepository.save(Item.builder().name("Дрель").description("Электроинструмент")
+                .available(true).owner(user1).request(itemRequest1).build());
+        Item item2 = itemRepository.save(Item.builder().name("Отвертка").description("Аккумуляторная отвертка")
+                .available(true).owner(user1).request(itemRequest2).build());
+        itemRepository.save(Item.builder().name("Щётка").description("Щётка для обуви").available(true)
+                .owner(user1).request(itemRequest3).build());
+
+        List<ItemDtoOwnReq> actualItems = itemRepository.findItemsByRequestIdIn(List.of(itemRequest1.getId(),
+                itemRequest2.getId()));
+
+        Assertions.assertEquals(2, actualItems.size());
+        assertThat(actualItems).extracting(ItemDtoOwnReq::getId)
+                .containsExactlyInAnyOrder(item1.getId(), item2.getId());
+    }
 }
@@ -0,0 +1,105 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.config.PrimaryReadTemplate;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.Collections;
+import java.util.List;
+
+@SpringBootTest
+@ContextConfiguration(classes = {PrimaryReadTemplate.class, ItemSearchIndex.class})
+public class ItemSearchIndexTest {
+
+    @MockBean
+    private ItemRepository itemRepository;
+    @Autowired
+    private ItemSearchIndex itemSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        Mockito.when(itemRepository.findAll()).thenReturn(List.of(
+                Item.builder().id(1L).name("Перфоратор").description("Электродрель").available(true).build(),
+                Item.builder().id(2L).name("Дрель").description("Электроинструмент").available(true).build(),
+                Item.builder().id(3L).name("Дрель ударная").description("Электроинструмент").available(false)
+                        .build(),
+                Item.builder().id(4L).name("Шуруповерт").description("Аккумуляторная ДРЕЛЬ-шуруповерт")
+                        .available(true).build(),
+                Item.builder().id(5L).name("Отвертка").description("Аккумуляторная отвертка").available(true)
+                        .build()));
+
+        itemSearchIndex.rebuild();
+    }
+
+    @Test
+    void search_returnsAvailableMatchesWithNameMatchesFirst() {
+        Assertions.assertTrue(itemSearchIndex.isReady());
+        Assertions.assertEquals(List.of(2L, 1L, 4L), itemSearchIndex.search("дРеЛь", 0, 10, null));
+    }
+
+    @Test
+    void search_shortTextMatchesSubstring() {
+        Assertions.assertEquals(List.of(2L, 1L, 4L), itemSearchIndex.search("ЛЬ", 0, 10, null));
+    }
+
+    @Test
+    void search_appliesOffsetAndSize() {
+        Assertions.assertEquals(List.of(1L), itemSearchIndex.search("дрель", 1, 1, null));
+        Assertions.assertEquals(Collections.emptyList(), itemSearchIndex.search("дрель", 5, 10, null));
+    }
+
+    @Test
+    void search_continuesAfterCursor() {
+        Assertions.assertEquals(List.of(1L, 4L), itemSearchIndex.search("дрель", 0, 10, 2L));
+        Assertions.assertEquals(List.of(4L), itemSearchIndex.search("дрель", 0, 10, 1L));
+        Assertions.assertEquals(Collections.emptyList(), itemSearchIndex.search("дрель", 0, 10, 100L));
+    }
+
+    @Test
+    void index_updatesExistingItem() {
+        itemSearchIndex.index(Item.builder().id(2L).name("Молоток").description("Слесарный молоток").available(true)
+                .build());
+        itemSearchIndex.index(Item.builder().id(3L).name("Дрель ударная").description("Электроинструмент")
+                .available(true).build());
+        itemSearchIndex.index(Item.builder().id(6L).name("Миксер").description("Дрель-миксер").available(true)
+                .build());
+
+        Assertions.assertEquals(List.of(3L, 1L, 4L, 6L), itemSearchIndex.search("дрель", 0, 10, null));
+        Assertions.assertEquals(List.of(2L), itemSearchIndex.search("молоток", 0, 10, null));
+    }
+
+    @Test
+    void index_appliesOnlyCommittedChanges() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            itemSearchIndex.index(Item.builder().id(6L).name("Миксер").description("Дрель-миксер").available(true)
+                    .build());
+
+            Assertions.assertEquals(List.of(2L, 1L, 4L), itemSearchIndex.search("дрель", 0, 10, null));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            itemSearchIndex.index(Item.builder().id(7L).name("Дрель-миксер").description("Строительный миксер")
+                    .available(true).build());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        Assertions.assertEquals(List.of(2L, 1L, 4L, 6L), itemSearchIndex.search("дрель", 0, 10, null));
+    }
+}
@@ -8,28 +8,36 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.cache.CacheManager;
 import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.PlatformTransactionManager;
 import ru.practicum.shareit.booking.dao.BookingRepository;
 import ru.practicum.shareit.booking.dto.BookingDtoOwn;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.mapper.BookingMapperImpl;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingInterval;
+import ru.practicum.shareit.booking.service.BookingIntervalIndex;
+import ru.practicum.shareit.booking.service.BookingTimelineCache;
 import ru.practicum.shareit.exception.EntityForbiddenException;
 import ru.practicum.shareit.exception.EntityNotFoundException;
 import ru.practicum.shareit.exception.EntityValidationException;
 import ru.practicum.shareit.item.dao.CommentRepository;
 import ru.practicum.shareit.item.dao.ItemRepository;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoOwn;
 import ru.practicum.shareit.item.dto.ItemDtoReq;
+import ru.practicum.shareit.item.dto.ItemProjection;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.CommentMapperImpl;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.mapper.ItemMapperImpl;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.request.dao.ItemRequestRepository;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
@@ -42,6 +50,8 @@ import ru.practicum.shareit.user.mapper.UserMapperImpl;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 import ru.practicum.shareit.user.service.UserServiceImpl;
+import ru.practicum.shareit.utils.OffsetPageRequest;
+import ru.practicum.shareit.utils.OptimisticLockRetrier;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
@@ -53,11 +63,16 @@ import static org.mockito.Mockito.mockStatic;
 
 @SpringBootTest
 @ContextConfiguration(classes = {UserServiceImpl.class, UserMapperImpl.class, ItemServiceImpl.class,
-        ItemMapperImpl.class, ItemRequestMapperImpl.class, CommentMapperImpl.class, BookingMapperImpl.class})
+        ItemMapperImpl.class, ItemRequestMapperImpl.class, CommentMapperImpl.class, BookingMapperImpl.class,
+        OptimisticLockRetrier.class})
 public class ItemServiceImplTest {
 
+    @MockBean
+    private PlatformTransactionManager transactionManager;
     @MockBean
     private UserRepository userRepository;
+    @MockBean
+    private CacheManager cacheManager;
     @Autowired
     private UserService userService;
     @SpyBean
@@ -80,6 +95,12 @@ public class ItemServiceImplTest {
     private BookingRepository bookingRepository;
     @SpyBean
     private BookingMapper bookingMapper;
+    @MockBean
+    private ItemSearchIndex itemSearchIndex;
+    @MockBean
+    private BookingTimelineCache bookingTimelineCache;
+    @MockBean
+    private BookingIntervalIndex bookingIntervalIndex;
 
     @Test
     void createItem_returnsItemDtoWhenCreated() {
@@ -117,6 +138,8 @@ public class ItemServiceImplTest {
         Mockito.verifyNoMoreInteractions(userRepository);
         Mockito.verify(itemRepository, Mockito.times(1)).save(inItem);
         Mockito.verifyNoMoreInteractions(itemRepository);
+        Mockito.verify(itemSearchIndex, Mockito.times(1)).index(outItem);
+        Mockito.verifyNoMoreInteractions(itemSearchIndex);
         Mockito.verify(itemRequestRepository, Mockito.times(1))
                 .findById(inItemDto.getRequestId());
         Mockito.verifyNoMoreInteractions(itemRequestRepository);
@@ -202,10 +225,9 @@ public class ItemServiceImplTest {
         Mockito.when(userRepository.existsById(userId)).thenReturn(true);
         Mockito.when(itemRepository.findById(itemId)).thenReturn(Optional.of(originalItem));
         Mockito.when(commentRepository.findAllByItemId(itemId)).thenReturn(comments);
-        Mockito.when(bookingRepository.findFirstByItemIdAndStartBeforeAndStatusOrderByStartDesc(itemId, today,
-                BookingStatus.APPROVED)).thenReturn(lastBooking);
-        Mockito.when(bookingRepository.findFirstByItemIdAndStartAfterAndStatusOrderByStartAsc(itemId, today,
-                BookingStatus.APPROVED)).thenReturn(nextBooking);
+        Mockito.when(bookingTimelineCache.getTimeline(itemId, today)).thenReturn(
+                new BookingTimelineCache.BookingTimeline(expectedItemDto.getLastBooking(),
+                        expectedItemDto.getNextBooking(), today, nextBooking.getStart()));
 
         ItemDtoOwn actualOutItemDtoOwn;
         try (MockedStatic<LocalDateTime> mockedStatic = mockStatic(LocalDateTime.class, Mockito.CALLS_REAL_METHODS)) {
@@ -215,6 +237,8 @@ public class ItemServiceImplTest {
         }
 
         Assertions.assertEquals(expectedItemDto.getId(), actualOutItemDtoOwn.getId());
+        Assertions.assertEquals(expectedItemDto.getLastBooking().getId(), actualOutItemDtoOwn.getLastBooking().getId());
+        Assertions.assertEquals(expectedItemDto.getNextBooking().getId(), actualOutItemDtoOwn.getNextBooking().getId());
         Mockito.verify(userRepository, Mockito.times(1)).existsById(userId);
         Mockito.verifyNoMoreInteractions(userRepository);
         Mockito.verify(commentRepository, Mockito.times(1)).findAllByItemId(itemId);
@@ -222,16 +246,9 @@ public class ItemServiceImplTest {
         Mockito.verify(itemRepository, Mockito.times(1)).findById(itemId);
         Mockito.verifyNoMoreInteractions(itemRepository);
         Mockito.verify(itemMapper, Mockito.times(1)).toItemDtoOwner(originalItem, comments);
-        Mockito.verify(bookingRepository, Mockito.times(1))
-                .findFirstByItemIdAndStartBeforeAndStatusOrderByStartDesc(itemId, today,
-                        BookingStatus.APPROVED);
-        Mockito.verify(bookingRepository, Mockito.times(1))
-                .findFirstByItemIdAndStartAfterAndStatusOrderByStartAsc(itemId, today,
-                        BookingStatus.APPROVED);
-        Mockito.verifyNoMoreInteractions(bookingRepository);
-        Mockito.verify(bookingMapper, Mockito.times(1)).toBookingDtoOwner(lastBooking);
-        Mockito.verify(bookingMapper, Mockito.times(1)).toBookingDtoOwner(nextBooking);
-        Mockito.verifyNoMoreInteractions(bookingMapper);
+        Mockito.verify(bookingTimelineCache, Mockito.times(1)).getTimeline(itemId, today);
+        Mockito.verifyNoMoreInteractions(bookingTimelineCache);
+        Mockito.verifyNoInteractions(bookingRepository);
     }
 
     @Test
@@ -268,6 +285,8 @@ public class ItemServiceImplTest {
         Mockito.when(userRepository.existsById(userId)).thenReturn(true);
         Mockito.when(itemRepository.findById(itemId)).thenReturn(Optional.of(originalItem));
         Mockito.when(commentRepository.findAllByItemId(itemId)).thenReturn(comments);
+        Mockito.when(bookingTimelineCache.getTimeline(itemId, today)).thenReturn(
+                new BookingTimelineCache.BookingTimeline(null, null, today, null));
 
         ItemDtoOwn actualOutItemDtoOwn;
         try (MockedStatic<LocalDateTime> mockedStatic = mockStatic(LocalDateTime.class, Mockito.CALLS_REAL_METHODS)) {
@@ -340,33 +359,33 @@ public class ItemServiceImplTest {
                         .created(comments.get(0).getCreated()).build()))
                 .build());
 
-        Mockito.when(commentRepository.findAllByItemId(originalItem.getId())).thenReturn(comments);
-        Mockito.when(itemRepository.findItemsByOwnerId(userId)).thenReturn(originalItems);
-        Mockito.when(bookingRepository.findFirstByItemIdAndStartBeforeAndStatusOrderByStartDesc(originalItem.getId(),
-                today, BookingStatus.APPROVED)).thenReturn(lastBooking);
-        Mockito.when(bookingRepository.findFirstByItemIdAndStartAfterAndStatusOrderByStartAsc(originalItem.getId(),
-                today, BookingStatus.APPROVED)).thenReturn(nextBooking);
+        Mockito.when(commentRepository.findAllByItemIdIn(List.of(originalItem.getId()))).thenReturn(comments);
+        Mockito.when(itemRepository.findItemsByOwnerIdOrderByIdAsc(userId, OffsetPageRequest.of(0, 10)))
+                .thenReturn(originalItems);
+        Mockito.when(bookingRepository.findLastAndNextBookingsByItemIds(List.of(originalItem.getId()), today,
+                BookingStatus.APPROVED)).thenReturn(List.of(lastBooking, nextBooking));
 
         List<ItemDtoOwn> actualOutItemsDtoOwn;
         try (MockedStatic<LocalDateTime> mockedStatic = mockStatic(LocalDateTime.class, Mockito.CALLS_REAL_METHODS)) {
             mockedStatic.when(LocalDateTime::now).thenReturn(today);
 
-            actualOutItemsDtoOwn = itemService.findItemsByUser(userId);
+            actualOutItemsDtoOwn = itemService.findItemsByUser(userId, 0, 10, null);
         }
 
         Assertions.assertEquals(expectedItemsDto.get(0).getId(), actualOutItemsDtoOwn.get(0).getId());
+        Assertions.assertEquals(expectedItemsDto.get(0).getLastBooking().getId(),
+                actualOutItemsDtoOwn.get(0).getLastBooking().getId());
+        Assertions.assertEquals(expectedItemsDto.get(0).getNextBooking().getId(),
+                actualOutItemsDtoOwn.get(0).getNextBooking().getId());
         Mockito.verify(commentRepository, Mockito.times(1))
-                .findAllByItemId(originalItem.getId());
+                .findAllByItemIdIn(List.of(originalItem.getId()));
         Mockito.verifyNoMoreInteractions(commentRepository);
-        Mockito.verify(itemRepository, Mockito.times(1)).findItemsByOwnerId(userId);
+        Mockito.verify(itemRepository, Mockito.times(1)).findItemsByOwnerIdOrderByIdAsc(userId,
+                OffsetPageRequest.of(0, 10));
         Mockito.verifyNoMoreInteractions(itemRepository);
         Mockito.verify(itemMapper, Mockito.times(1)).toItemDtoOwner(originalItem, comments);
         Mockito.verify(bookingRepository, Mockito.times(1))
-                .findFirstByItemIdAndStartBeforeAndStatusOrderByStartDesc(originalItem.getId(), today,
-                        BookingStatus.APPROVED);
-        Mockito.verify(bookingRepository, Mockito.times(1))
-                .findFirstByItemIdAndStartAfterAndStatusOrderByStartAsc(originalItem.getId(), today,
-                        BookingStatus.APPROVED);
+                .findLastAndNextBookingsByItemIds(List.of(originalItem.getId()), today, BookingStatus.APPROVED);
         Mockito.verifyNoMoreInteractions(bookingRepository);
         Mockito.verify(bookingMapper, Mockito.times(1)).toBookingDtoOwner(lastBooking);
         Mockito.verify(bookingMapper, Mockito.times(1)).toBookingDtoOwner(nextBooking);
@@ -379,34 +398,58 @@ public class ItemServiceImplTest {
         String text = "дрель";
         LocalDateTime today = LocalDateTime.of(2023, 12, 2, 17, 0);
 
-        Item originalItem = Item.builder().id(1L).name("Дрель").description("Простая дрель").available(true)
-                .owner(User.builder().id(userId).name("user").email("user@user.com").build())
-                .request(ItemRequest.builder().id(1L).description("Хотел бы воспользоваться Дрелью")
-                        .requestor(User.builder().id(2L).name("user2").email("user2@user.com").build())
-                        .created(today.minusDays(1)).build()).build();
-        List<Item> outItems = Collections.singletonList(originalItem);
+        ItemProjection originalItem = new ItemProjection(1L, "Дрель", "Простая дрель", true, userId, "user",
+                "user@user.com", 1L);
+        List<ItemProjection> outItems = Collections.singletonList(originalItem);
 
         List<ItemDto> expectedItemsDto = Collections.singletonList(ItemDto.builder().id(originalItem.getId())
                 .name(originalItem.getName()).description(originalItem.getDescription())
                 .available(originalItem.getAvailable())
-                .owner(UserDto.builder().id(originalItem.getOwner().getId()).name(originalItem.getOwner().getName())
-                        .email(originalItem.getOwner().getEmail()).build())
-                .requestId(originalItem.getRequest().getId()).build());
+                .owner(UserDto.builder().id(originalItem.getOwnerId()).name(originalItem.getOwnerName())
+                        .email(originalItem.getOwnerEmail()).build())
+                .requestId(originalItem.getRequestId()).build());
 
         Mockito.when(userRepository.existsById(userId)).thenReturn(true);
-        Mockito.when(itemRepository.findItemsByText(text)).thenReturn(outItems);
+        Mockito.when(itemRepository.findItemsByText(text, OffsetPageRequest.of(0, 10))).thenReturn(outItems);
 
-        List<ItemDto> actualOutItemsDto = itemService.findItemsByText(userId, text);
+        List<ItemDto> actualOutItemsDto = itemService.findItemsByText(userId, text, 0, 10, null);
 
         Assertions.assertEquals(expectedItemsDto.get(0).getId(), actualOutItemsDto.get(0).getId());
         Mockito.verify(userRepository, Mockito.times(1)).existsById(userId);
         Mockito.verifyNoMoreInteractions(userRepository);
-        Mockito.verify(itemRepository, Mockito.times(1)).findItemsByText(text);
+        Mockito.verify(itemRepository, Mockito.times(1)).findItemsByText(text, OffsetPageRequest.of(0, 10));
         Mockito.verifyNoMoreInteractions(itemRepository);
         Mockito.verify(itemMapper, Mockito.times(1)).toItemDto(originalItem);
         Mockito.verifyNoMoreInteractions(itemMapper);
     }
 
+    @Test
+    void findItemsByText_indexReadyReturnsListItemDtoInIndexOrder() {
+        Long userId = 1L;
+        String text = "дрель";
+        ItemProjection originalItem1 = new ItemProjection(1L, "Перфоратор", "Электродрель", true, userId, "user",
+                "user@user.com", null);
+        ItemProjection originalItem2 = new ItemProjection(2L, "Дрель", "Простая дрель", true, userId, "user",
+                "user@user.com", null);
+
+        Mockito.when(userRepository.existsById(userId)).thenReturn(true);
+        Mockito.when(itemSearchIndex.isReady()).thenReturn(true);
+        Mockito.when(itemSearchIndex.search(text, 0, 10, null)).thenReturn(List.of(2L, 1L));
+        Mockito.when(itemRepository.findItemsByIdIn(List.of(2L, 1L)))
+                .thenReturn(List.of(originalItem1, originalItem2));
+
+        List<ItemDto> actualOutItemsDto = itemService.findItemsByText(userId, text, 0, 10, null);
+
+        Assertions.assertEquals(2, actualOutItemsDto.size());
+        Assertions.assertEquals(originalItem2.getId(), actualOutItemsDto.get(0).getId());
+        Assertions.assertEquals(originalItem1.getId(), actualOutItemsDto.get(1).getId());
+        Mockito.verify(itemSearchIndex, Mockito.times(1)).isReady();
+        Mockito.verify(itemSearchIndex, Mockito.times(1)).search(text, 0, 10, null);
+        Mockito.verifyNoMoreInteractions(itemSearchIndex);
+        Mockito.verify(itemRepository, Mockito.times(1)).findItemsByIdIn(List.of(2L, 1L));
+        Mockito.verifyNoMoreInteractions(itemRepository);
+    }
+
     @Test
     void findItemsByText_returnsEntityNotFoundException() {
         Long userId = 1L;
@@ -415,7 +458,7 @@ public class ItemServiceImplTest {
         Mockito.when(userRepository.existsById(userId)).thenReturn(false);
 
         Exception exception = assertThrows(EntityNotFoundException.class, () ->
-                itemService.findItemsByText(userId, text));
+                itemService.findItemsByText(userId, text, 0, 10, null));
 
         assertTrue(exception.getMessage().contains("Попытка поиска вещи несуществующим пользователем"));
     }
@@ -428,13 +471,63 @@ public class ItemServiceImplTest {
 
         Mockito.when(userRepository.existsById(userId)).thenReturn(true);
 
-        List<ItemDto> actualOutItemsDto = itemService.findItemsByText(userId, text);
+        List<ItemDto> actualOutItemsDto = itemService.findItemsByText(userId, text, 0, 10, null);
 
         Assertions.assertEquals(expectedItemsDto, actualOutItemsDto);
         Mockito.verify(userRepository, Mockito.times(1)).existsById(userId);
         Mockito.verifyNoMoreInteractions(userRepository);
     }
 
+    @Test
+    void getItemAvailability_returnsMergedBusyAndFreeIntervals() {
+        Long userId = 2L;
+        Long itemId = 1L;
+        LocalDateTime from = LocalDateTime.of(2023, 12, 1, 0, 0);
+        LocalDateTime to = from.plusDays(10);
+        Item item = Item.builder().id(itemId).name("Дрель").description("Простая дрель").available(true)
+                .owner(User.builder().id(1L).name("user").email("user@user.com").build()).build();
+
+        Mockito.when(userRepository.existsById(userId)).thenReturn(true);
+        Mockito.when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
+        Mockito.when(bookingIntervalIndex.findOverlapping(itemId, from, to)).thenReturn(List.of(
+                new BookingInterval(1L, from.plusDays(1), from.plusDays(3), BookingStatus.APPROVED),
+                new BookingInterval(2L, from.plusDays(2), from.plusDays(4), BookingStatus.WAITING),
+                new BookingInterval(3L, from.plusDays(6), from.plusDays(12), BookingStatus.APPROVED)));
+
+        ItemAvailabilityDto actualAvailability = itemService.getItemAvailability(userId, itemId, from, to);
+
+        Assertions.assertEquals(2, actualAvailability.getBusy().size());
+        Assertions.assertEquals(from.plusDays(1), actualAvailability.getBusy().get(0).getStart());
+        Assertions.assertEquals(from.plusDays(4), actualAvailability.getBusy().get(0).getEnd());
+        Assertions.assertEquals(from.plusDays(6), actualAvailability.getBusy().get(1).getStart());
+        Assertions.assertEquals(to, actualAvailability.getBusy().get(1).getEnd());
+        Assertions.assertEquals(2, actualAvailability.getFree().size());
+        Assertions.assertEquals(from, actualAvailability.getFree().get(0).getStart());
+        Assertions.assertEquals(from.plusDays(1), actualAvailability.getFree().get(0).getEnd());
+        Assertions.assertEquals(from.plusDays(4), actualAvailability.getFree().get(1).getStart());
+        Assertions.assertEquals(from.plusDays(6), actualAvailability.getFree().get(1).getEnd());
+        Mockito.verify(bookingIntervalIndex, Mockito.times(1)).findOverlapping(itemId, from, to);
+        Mockito.verifyNoMoreInteractions(bookingIntervalIndex);
+    }
+
+    @Test
+    void getItemAvailability_fromIsNotBeforeToReturnsEntityValidationException() {
+        Long userId = 2L;
+        Long itemId = 1L;
+        LocalDateTime from = LocalDateTime.of(2023, 12, 1, 0, 0);
+        Item item = Item.builder().id(itemId).name("Дрель").description("Простая дрель").available(true)
+                .owner(User.builder().id(1L).name("user").email("user@user.com").build()).build();
+
+        Mockito.when(userRepository.existsById(userId)).thenReturn(true);
+        Mockito.when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
+
+        Exception exception = assertThrows(EntityValidationException.class, () ->
+                itemService.getItemAvailability(userId, itemId, from, from));
+
+        assertTrue(exception.getMessage().contains("Некорректный период календаря"));
+        Mockito.verifyNoInteractions(bookingIntervalIndex);
+    }
+
     @Test
     void updateItem_returnsItemDtoWhenUpdated() {
         Long userId = 1L;
@@ -459,7 +552,7 @@ public class ItemServiceImplTest {
 
         Mockito.when(userRepository.existsById(userId)).thenReturn(true);
         Mockito.when(itemRepository.findById(itemId)).thenReturn(Optional.of(originalItem));
-        Mockito.when(itemRepository.save(outItem)).thenReturn(outItem);
+        Mockito.when(itemRepository.saveAndFlush(outItem)).thenReturn(outItem);
 
         ItemDto actualOutItemDto = itemService.updateItem(userId, itemId, inItemDto);
 
@@ -467,7 +560,7 @@ public class ItemServiceImplTest {
         Mockito.verify(userRepository, Mockito.times(1)).existsById(userId);
         Mockito.verifyNoMoreInteractions(userRepository);
         Mockito.verify(itemRepository, Mockito.times(1)).findById(itemId);
-        Mockito.verify(itemRepository, Mockito.times(1)).save(outItem);
+        Mockito.verify(itemRepository, Mockito.times(1)).saveAndFlush(outItem);
         Mockito.verifyNoMoreInteractions(itemRepository);
         Mockito.verify(itemMapper, Mockito.times(1)).toItemDto(outItem);
         Mockito.verifyNoMoreInteractions(itemMapper);
@@ -15,6 +15,7 @@ import ru.practicum.shareit.user.model.User;
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -64,7 +65,7 @@ public class ItemRequestServiceImplIntegrationTest {
         TypedQuery<User> queryUser1 = em.createQuery("Select u from User u where u.email = :email", User.class);
         User dbUser1 = queryUser1.setParameter("email", user1.getEmail()).getSingleResult();
         ItemRequest itemRequest = ItemRequest.builder().description("Запрос вещи").requestor(dbUser1)
-                .created(LocalDateTime.now()).build();
+                .created(LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS)).build();
         em.persist(itemRequest);
 
         TypedQuery<User> queryUser2 = em.createQuery("Select u from User u where u.email = :email", User.class);
@@ -94,4 +95,36 @@ public class ItemRequestServiceImplIntegrationTest {
                 equalTo(item.getAvailable()));
         assertThat(actualItemRequestsDto.get(0).getItems().get(0).getRequestId(), notNullValue());
     }
+
+    @Test
+    void findItemRequestsByAnotherUser() {
+        LocalDateTime today = LocalDateTime.of(2023, 12, 2, 17, 0);
+        User user1 = User.builder().name("user1").email("user1@user.com").build();
+        User user2 = User.builder().name("user2").email("user2@user.com").build();
+
+        em.persist(user1);
+        em.persist(user2);
+
+        ItemRequest itemRequest1 = ItemRequest.builder().description("Запрос вещи 1").requestor(user2)
+                .created(today.minusDays(3)).build();
+        ItemRequest itemRequest2 = ItemRequest.builder().description("Запрос вещи 2").requestor(user1)
+                .created(today.minusDays(2)).build();
+        ItemRequest itemRequest3 = ItemRequest.builder().description("Запрос вещи 3").requestor(user2)
+                .created(today.minusDays(1)).build();
+        ItemRequest itemRequest4 = ItemRequest.builder().description("Запрос вещи 4").requestor(user2)
+                .created(today).build();
+
+        em.persist(itemRequest1);
+        em.persist(itemRequest2);
+        em.persist(itemRequest3);
+        em.persist(itemRequest4);
+
+        List<ItemRequestDtoOwn> actualItemRequestsDto = itemRequestService.findItemRequestsByAnotherUser(
+                user1.getId(), 1, 2);
+
+        assertThat(actualItemRequestsDto.size(), equalTo(2));
+        assertThat(actualItemRequestsDto.get(0).getDescription(), equalTo(itemRequest3.getDescription()));
+        assertThat(actualItemRequestsDto.get(1).getDescription(), equalTo(itemRequest1.getDescription()));
+        assertThat(actualItemRequestsDto.get(1).getItems().size(), equalTo(0));
+    }
 }
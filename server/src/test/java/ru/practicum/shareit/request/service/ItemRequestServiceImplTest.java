@@ -8,10 +8,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.mock.mockito.SpyBean;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ContextConfiguration;
 import ru.practicum.shareit.exception.EntityNotFoundException;
 import ru.practicum.shareit.item.dao.ItemRepository;
@@ -20,10 +16,10 @@ import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.CommentMapperImpl;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.mapper.ItemMapperImpl;
-import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.dao.ItemRequestRepository;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestDtoOwn;
+import ru.practicum.shareit.request.dto.ItemRequestProjection;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.request.mapper.ItemRequestMapperImpl;
 import ru.practicum.shareit.request.model.ItemRequest;
@@ -32,6 +28,7 @@ import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.mapper.UserMapperImpl;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.utils.OffsetPageRequest;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
@@ -104,19 +101,13 @@ public class ItemRequestServiceImplTest {
         Long userId = 1L;
         LocalDateTime today = LocalDateTime.of(2023, 12, 2, 17, 0);
 
-        ItemRequest originalItemRequest = ItemRequest.builder().id(1L).description("Хотел бы воспользоваться Дрелью")
-                .requestor(User.builder().id(userId).name("user").email("user@user.com").build())
-                .created(today.minusDays(1)).build();
-        List<ItemRequest> originalItemRequests = Collections.singletonList(originalItemRequest);
-
-        Item originalItem = Item.builder().id(1L).name("Дрель").description("Простая дрель").available(true)
-                .owner(User.builder().id(2L).name("user2").email("user2@user.com").build())
-                .request(originalItemRequest).build();
-        List<Item> originalItems = Collections.singletonList(originalItem);
+        ItemRequestProjection originalItemRequest = new ItemRequestProjection(1L, "Хотел бы воспользоваться Дрелью",
+                today.minusDays(1));
+        List<ItemRequestProjection> originalItemRequests = Collections.singletonList(originalItemRequest);
 
-        List<ItemDtoOwnReq> originalItemsDtoOwnReq = Collections.singletonList(ItemDtoOwnReq.builder()
-                .id(originalItem.getId()).name(originalItem.getName()).description(originalItem.getDescription())
-                .available(originalItem.getAvailable()).requestId(originalItem.getRequest().getId()).build());
+        List<ItemDtoOwnReq> originalItemsDtoOwnReq = Collections.singletonList(ItemDtoOwnReq.builder().id(1L)
+                .name("Дрель").description("Простая дрель").available(true).requestId(originalItemRequest.getId())
+                .build());
 
         ItemRequestDtoOwn outItemRequestDtoOwn = ItemRequestDtoOwn.builder().id(originalItemRequest.getId())
                 .description(originalItemRequest.getDescription()).created(originalItemRequest.getCreated())
@@ -125,7 +116,8 @@ public class ItemRequestServiceImplTest {
 
         Mockito.when(userRepository.existsById(userId)).thenReturn(true);
         Mockito.when(itemRequestRepository.findRequestsByRequestorId(userId)).thenReturn(originalItemRequests);
-        Mockito.when(itemRepository.findItemsByRequestId(originalItemRequest.getId())).thenReturn(originalItems);
+        Mockito.when(itemRepository.findItemsByRequestIdIn(List.of(originalItemRequest.getId())))
+                .thenReturn(originalItemsDtoOwnReq);
 
         List<ItemRequestDtoOwn> actualItemRequestsDtoOwn = itemRequestService.findItemRequestsByUser(userId);
 
@@ -136,10 +128,11 @@ public class ItemRequestServiceImplTest {
                 .findRequestsByRequestorId(userId);
         Mockito.verifyNoMoreInteractions(itemRequestRepository);
         Mockito.verify(itemRepository, Mockito.times(1))
-                .findItemsByRequestId(originalItemRequest.getId());
+                .findItemsByRequestIdIn(List.of(originalItemRequest.getId()));
         Mockito.verifyNoMoreInteractions(itemRepository);
-        Mockito.verify(itemMapper, Mockito.times(1)).toItemDtoItemRequestOwn(originalItem);
-        Mockito.verifyNoMoreInteractions(itemMapper);
+        Mockito.verify(itemRequestMapper, Mockito.times(1)).toItemRequestDtoOwn(originalItemRequest,
+                originalItemsDtoOwnReq);
+        Mockito.verifyNoMoreInteractions(itemRequestMapper);
     }
 
     @Test
@@ -164,24 +157,13 @@ public class ItemRequestServiceImplTest {
         Integer limit = 2;
         LocalDateTime today = LocalDateTime.of(2023, 12, 2, 17, 0);
 
-        ItemRequest originalItemRequest = ItemRequest.builder().id(2L).description("Хотел бы воспользоваться Дрелью")
-                .requestor(User.builder().id(2L).name("user2").email("user2@user.com").build())
-                .created(today.minusDays(1)).build();
-        ItemRequest originalItemRequest2 = ItemRequest.builder().id(1L).description("Хотел бы воспользоваться щёткой")
-                .requestor(User.builder().id(userId).name("user").email("user@user.com").build())
-                .created(today.minusDays(2)).build();
-        List<ItemRequest> originalItemRequests = List.of(originalItemRequest, originalItemRequest2);
-        Page<ItemRequest> originalItemRequestsPag = new PageImpl<>(originalItemRequests,
-                PageRequest.of(offset, limit, Sort.by("created").descending()), originalItemRequests.size());
-
-        Item originalItem = Item.builder().id(1L).name("Дрель").description("Простая дрель").available(true)
-                .owner(User.builder().id(3L).name("user3").email("user3@user.com").build())
-                .request(originalItemRequest).build();
-        List<Item> originalItems = Collections.singletonList(originalItem);
-
-        List<ItemDtoOwnReq> originalItemsDtoOwnReq = Collections.singletonList(ItemDtoOwnReq.builder()
-                .id(originalItem.getId()).name(originalItem.getName()).description(originalItem.getDescription())
-                .available(originalItem.getAvailable()).requestId(originalItem.getRequest().getId()).build());
+        ItemRequestProjection originalItemRequest = new ItemRequestProjection(2L, "Хотел бы воспользоваться Дрелью",
+                today.minusDays(1));
+        List<ItemRequestProjection> originalItemRequests = Collections.singletonList(originalItemRequest);
+
+        List<ItemDtoOwnReq> originalItemsDtoOwnReq = Collections.singletonList(ItemDtoOwnReq.builder().id(1L)
+                .name("Дрель").description("Простая дрель").available(true).requestId(originalItemRequest.getId())
+                .build());
 
         ItemRequestDtoOwn outItemRequestDtoOwn = ItemRequestDtoOwn.builder().id(originalItemRequest.getId())
                 .description(originalItemRequest.getDescription()).created(originalItemRequest.getCreated())
@@ -189,9 +171,10 @@ public class ItemRequestServiceImplTest {
         List<ItemRequestDtoOwn> expectedItemRequestDtoOwn = Collections.singletonList(outItemRequestDtoOwn);
 
         Mockito.when(userRepository.existsById(userId)).thenReturn(true);
-        Mockito.when(itemRequestRepository.findAll(PageRequest.of(offset, limit, Sort.by("created")
-                .descending()))).thenReturn(originalItemRequestsPag);
-        Mockito.when(itemRepository.findItemsByRequestId(originalItemRequest.getId())).thenReturn(originalItems);
+        Mockito.when(itemRequestRepository.findRequestsByRequestorIdNotOrderByCreatedDescIdDesc(userId,
+                OffsetPageRequest.of(offset, limit))).thenReturn(originalItemRequests);
+        Mockito.when(itemRepository.findItemsByRequestIdIn(List.of(originalItemRequest.getId())))
+                .thenReturn(originalItemsDtoOwnReq);
 
         List<ItemRequestDtoOwn> actualItemRequestsDtoOwn = itemRequestService.findItemRequestsByAnotherUser(userId,
                 offset, limit);
@@ -200,13 +183,14 @@ public class ItemRequestServiceImplTest {
         Mockito.verify(userRepository, Mockito.times(1)).existsById(userId);
         Mockito.verifyNoMoreInteractions(userRepository);
         Mockito.verify(itemRequestRepository, Mockito.times(1))
-                .findAll(PageRequest.of(offset, limit, Sort.by("created").descending()));
+                .findRequestsByRequestorIdNotOrderByCreatedDescIdDesc(userId, OffsetPageRequest.of(offset, limit));
         Mockito.verifyNoMoreInteractions(itemRequestRepository);
         Mockito.verify(itemRepository, Mockito.times(1))
-                .findItemsByRequestId(originalItemRequest.getId());
+                .findItemsByRequestIdIn(List.of(originalItemRequest.getId()));
         Mockito.verifyNoMoreInteractions(itemRepository);
-        Mockito.verify(itemMapper, Mockito.times(1)).toItemDtoItemRequestOwn(originalItem);
-        Mockito.verifyNoMoreInteractions(itemMapper);
+        Mockito.verify(itemRequestMapper, Mockito.times(1)).toItemRequestDtoOwn(originalItemRequest,
+                originalItemsDtoOwnReq);
+        Mockito.verifyNoMoreInteractions(itemRequestMapper);
     }
 
     @Test
@@ -237,14 +221,9 @@ public class ItemRequestServiceImplTest {
                         .email("user@user.com").build())
                 .created(today.minusDays(1)).build();
 
-        Item originalItem = Item.builder().id(1L).name("Дрель").description("Простая дрель").available(true)
-                .owner(User.builder().id(2L).name("user2").email("user2@user.com").build())
-                .request(originalItemRequest).build();
-        List<Item> originalItems = Collections.singletonList(originalItem);
-
-        List<ItemDtoOwnReq> originalItemsDtoOwnReq = Collections.singletonList(ItemDtoOwnReq.builder()
-                .id(originalItem.getId()).name(originalItem.getName()).description(originalItem.getDescription())
-                .available(originalItem.getAvailable()).requestId(originalItem.getRequest().getId()).build());
+        List<ItemDtoOwnReq> originalItemsDtoOwnReq = Collections.singletonList(ItemDtoOwnReq.builder().id(1L)
+                .name("Дрель").description("Простая дрель").available(true).requestId(originalItemRequest.getId())
+                .build());
 
         ItemRequestDtoOwn expectedItemRequestDtoOwn = ItemRequestDtoOwn.builder().id(originalItemRequest.getId())
                 .description(originalItemRequest.getDescription()).created(originalItemRequest.getCreated())
@@ -252,7 +231,7 @@ public class ItemRequestServiceImplTest {
 
         Mockito.when(userRepository.existsById(userId)).thenReturn(true);
         Mockito.when(itemRequestRepository.findById(requestId)).thenReturn(Optional.of(originalItemRequest));
-        Mockito.when(itemRepository.findItemsByRequestId(requestId)).thenReturn(originalItems);
+        Mockito.when(itemRepository.findItemsByRequestId(requestId)).thenReturn(originalItemsDtoOwnReq);
 
         ItemRequestDtoOwn actualItemRequestsDtoOwn = itemRequestService.getItemRequestById(userId, requestId);
 
@@ -265,8 +244,9 @@ public class ItemRequestServiceImplTest {
         Mockito.verify(itemRepository, Mockito.times(1))
                 .findItemsByRequestId(requestId);
         Mockito.verifyNoMoreInteractions(itemRepository);
-        Mockito.verify(itemMapper, Mockito.times(1)).toItemDtoItemRequestOwn(originalItem);
-        Mockito.verifyNoMoreInteractions(itemMapper);
+        Mockito.verify(itemRequestMapper, Mockito.times(1)).toItemRequestDtoOwn(originalItemRequest,
+                originalItemsDtoOwnReq);
+        Mockito.verifyNoMoreInteractions(itemRequestMapper);
     }
 
     @Test
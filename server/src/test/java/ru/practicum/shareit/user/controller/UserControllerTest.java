@@ -7,6 +7,7 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
@@ -20,6 +21,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static ru.practicum.shareit.utils.ResourcePool.*;
 
@@ -57,11 +59,14 @@ public class UserControllerTest {
         Long userId = 1L;
         UserDto userDto = read(createdUserDto, UserDto.class);
 
+        userDto.setVersion(3L);
+
         Mockito.when(userService.getUser(userId)).thenReturn(userDto);
 
         mockMvc.perform(MockMvcRequestBuilders.get("/users/" + userId))
                 .andDo(MockMvcResultHandlers.print())
                 .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"3\""))
                 .andExpect(MockMvcResultMatchers.content().json(objectMapper.writeValueAsString(userDto)));
 
         Mockito.verify(userService, Mockito.times(1)).getUser(userId);
@@ -89,17 +94,22 @@ public class UserControllerTest {
         UserDto userDto = read(updateNameUserRequest, UserDto.class);
         UserDto updatedUserDto = read(updatedNameUsersDto, UserDto.class);
 
+        updatedUserDto.setVersion(4L);
+
         Mockito.when(userService.updateUser(eq(userId), any(UserDto.class))).thenReturn(updatedUserDto);
 
         mockMvc.perform(MockMvcRequestBuilders.patch("/users/" + userId)
+                        .header(HttpHeaders.IF_MATCH, "\"3\"")
                         .content(objectMapper.writeValueAsString(userDto))
                         .contentType(MediaType.APPLICATION_JSON)
                         .characterEncoding(StandardCharsets.UTF_8))
                 .andDo(MockMvcResultHandlers.print())
                 .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"4\""))
                 .andExpect(MockMvcResultMatchers.content().json(objectMapper.writeValueAsString(updatedUserDto)));
 
-        Mockito.verify(userService, Mockito.times(1)).updateUser(eq(userId), any(UserDto.class));
+        Mockito.verify(userService, Mockito.times(1)).updateUser(eq(userId),
+                argThat(u -> Long.valueOf(3L).equals(u.getVersion())));
         Mockito.verifyNoMoreInteractions(userService);
     }
 
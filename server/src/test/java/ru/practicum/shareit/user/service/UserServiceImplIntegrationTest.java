@@ -5,8 +5,14 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.user.dao.UserRepository;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
@@ -29,6 +35,12 @@ public class UserServiceImplIntegrationTest {
     private EntityManager em;
     @Autowired
     private UserService userService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
     @SpyBean
     private UserMapper userMapper;
 
@@ -85,4 +97,23 @@ public class UserServiceImplIntegrationTest {
         assertThat(actualUserDto.getName(), equalTo(userDto.getName()));
         assertThat(actualUserDto.getEmail(), equalTo(userDto.getEmail()));
     }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void deleteUser_evictsCachedUserExistenceAfterCommit() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        User user = userRepository.save(User.builder().name("user").email("user@user.com").build());
+        Cache cache = cacheManager.getCache(UserRepository.USERS_CACHE);
+
+        assertThat(userRepository.existsById(user.getId()), is(true));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            userService.deleteUser(user.getId());
+
+            assertThat(cache.get(user.getId()), notNullValue());
+        });
+
+        assertThat(cache.get(user.getId()), nullValue());
+        assertThat(userRepository.existsById(user.getId()), is(false));
+    }
 }
@@ -7,7 +7,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.practicum.shareit.exception.EntityPreconditionFailedException;
 import ru.practicum.shareit.exception.EntityValidationException;
 import ru.practicum.shareit.exception.VoidMethodException;
 import ru.practicum.shareit.user.dao.UserRepository;
@@ -15,6 +19,7 @@ import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.mapper.UserMapperImpl;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.utils.OptimisticLockRetrier;
 
 import java.util.Collections;
 import java.util.List;
@@ -23,11 +28,15 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest
-@ContextConfiguration(classes = {UserServiceImpl.class, UserMapperImpl.class})
+@ContextConfiguration(classes = {UserServiceImpl.class, UserMapperImpl.class, OptimisticLockRetrier.class})
 public class UserServiceImplTest {
 
+    @MockBean
+    private PlatformTransactionManager transactionManager;
     @MockBean
     private UserRepository userRepository;
+    @MockBean
+    private CacheManager cacheManager;
     @Autowired
     private UserService userService;
 
@@ -100,18 +109,57 @@ public class UserServiceImplTest {
                 .build();
 
         Mockito.when(userRepository.findById(userId)).thenReturn(Optional.ofNullable(originalUser));
-        Mockito.when(userRepository.save(inUser)).thenReturn(inUser);
+        Mockito.when(userRepository.saveAndFlush(inUser)).thenReturn(inUser);
 
         UserDto actualResponseUserDto = userService.updateUser(userId, inUserDto);
 
         Assertions.assertEquals(expectedUserDto.getId(), actualResponseUserDto.getId());
         Mockito.verify(userRepository, Mockito.times(1)).findById(userId);
-        Mockito.verify(userRepository, Mockito.times(1)).save(inUser);
+        Mockito.verify(userRepository, Mockito.times(1)).saveAndFlush(inUser);
         Mockito.verifyNoMoreInteractions(userRepository);
         Mockito.verify(userMapper, Mockito.times(1)).toUserDto(inUser);
         Mockito.verifyNoMoreInteractions(userMapper);
     }
 
+    @Test
+    void updateUser_retriesWhenVersionConflict() {
+        Long userId = 1L;
+        UserDto inUserDto = UserDto.builder().id(userId).name("userUpd").build();
+        User staleUser = User.builder().id(userId).name("user").email("user@user.com").version(1L).build();
+        User freshUser = User.builder().id(userId).name("user").email("userNew@user.com").version(2L).build();
+        User outUser = User.builder().id(userId).name("userUpd").email("userNew@user.com").version(3L).build();
+
+        Mockito.when(userRepository.findById(userId)).thenReturn(Optional.of(staleUser), Optional.of(freshUser));
+        Mockito.when(userRepository.saveAndFlush(Mockito.any(User.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(User.class, userId))
+                .thenReturn(outUser);
+
+        UserDto actualResponseUserDto = userService.updateUser(userId, inUserDto);
+
+        Assertions.assertEquals(outUser.getEmail(), actualResponseUserDto.getEmail());
+        Assertions.assertEquals(outUser.getVersion(), actualResponseUserDto.getVersion());
+        Mockito.verify(userRepository, Mockito.times(2)).findById(userId);
+        Mockito.verify(userRepository, Mockito.times(2)).saveAndFlush(Mockito.any(User.class));
+        Mockito.verifyNoMoreInteractions(userRepository);
+    }
+
+    @Test
+    void updateUser_versionMismatchReturnsEntityPreconditionFailedException() {
+        Long userId = 1L;
+        UserDto inUserDto = UserDto.builder().id(userId).name("userUpd").version(1L).build();
+        User originalUser = User.builder().id(userId).name("user").email("user@user.com").version(2L).build();
+
+        Mockito.when(userRepository.findById(userId)).thenReturn(Optional.of(originalUser));
+
+        Exception exception = assertThrows(EntityPreconditionFailedException.class, () ->
+                userService.updateUser(userId, inUserDto));
+
+        assertTrue(exception.getMessage().contains("Пользователь был изменён другим запросом"));
+        Assertions.assertEquals("user", originalUser.getName());
+        Mockito.verify(userRepository, Mockito.times(1)).findById(userId);
+        Mockito.verifyNoMoreInteractions(userRepository);
+    }
+
     @Test
     void updateUser_NameIsBlankReturnsEntityValidationException() {
         Long userId = 1L;
@@ -0,0 +1,94 @@
+package ru.practicum.shareit.utils;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.util.DigestUtils;
+import ru.practicum.shareit.config.EntityTagFilterConfig;
+import ru.practicum.shareit.exception.EntityValidationException;
+import ru.practicum.shareit.user.controller.UserController;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import static ru.practicum.shareit.utils.ResourcePool.createdUserDto;
+import static ru.practicum.shareit.utils.ResourcePool.read;
+
+@WebMvcTest(UserController.class)
+@Import(EntityTagFilterConfig.class)
+public class EntityTagFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @MockBean
+    private UserService userService;
+
+    @Test
+    void get_addsRepresentationHashToVersionTag() throws Exception {
+        UserDto userDto = read(createdUserDto, UserDto.class);
+
+        userDto.setVersion(3L);
+        Mockito.when(userService.getUser(1L)).thenReturn(userDto);
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/users/1"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn();
+        String hash = DigestUtils.md5DigestAsHex(result.getResponse().getContentAsByteArray());
+
+        Assertions.assertEquals("\"3-" + hash + "\"", result.getResponse().getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void get_returnsNotModifiedForMatchingTag() throws Exception {
+        UserDto userDto = read(createdUserDto, UserDto.class);
+
+        userDto.setVersion(3L);
+        Mockito.when(userService.getUser(1L)).thenReturn(userDto);
+
+        String entityTag = mockMvc.perform(MockMvcRequestBuilders.get("/users/1"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/users/1").header(HttpHeaders.IF_NONE_MATCH, entityTag))
+                .andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, entityTag))
+                .andExpect(MockMvcResultMatchers.content().string(""));
+
+        userDto.setName("updateName");
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/users/1").header(HttpHeaders.IF_NONE_MATCH, entityTag))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.name").value("updateName"));
+    }
+
+    @Test
+    void shouldNotFilter_skipsEndpointsGatewayDoesNotCache() {
+        EntityTagFilter filter = new EntityTagFilterConfig().entityTagFilter().getFilter();
+
+        Assertions.assertFalse(filter.shouldNotFilter(new MockHttpServletRequest("GET", "/items/1")));
+        Assertions.assertFalse(filter.shouldNotFilter(new MockHttpServletRequest("GET", "/users/1")));
+        Assertions.assertFalse(filter.shouldNotFilter(new MockHttpServletRequest("GET", "/requests")));
+        Assertions.assertFalse(filter.shouldNotFilter(new MockHttpServletRequest("GET", "/requests/1")));
+        Assertions.assertTrue(filter.shouldNotFilter(new MockHttpServletRequest("GET", "/items/search")));
+        Assertions.assertTrue(filter.shouldNotFilter(new MockHttpServletRequest("GET", "/items/1/availability")));
+        Assertions.assertTrue(filter.shouldNotFilter(new MockHttpServletRequest("GET", "/requests/all")));
+        Assertions.assertTrue(filter.shouldNotFilter(new MockHttpServletRequest("PATCH", "/users/1")));
+    }
+
+    @Test
+    void parseIfMatch_acceptsRepresentationTag() {
+        Assertions.assertEquals(3L, EntityTag.parseIfMatch("\"3-0cc175b9c0f1b6a831c399e269772661\""));
+        Assertions.assertEquals(3L, EntityTag.parseIfMatch("W/\"3\""));
+        Assertions.assertNull(EntityTag.parseIfMatch("*"));
+        Assertions.assertThrows(EntityValidationException.class,
+                () -> EntityTag.parseIfMatch("\"0cc175b9c0f1b6a831c399e269772661\""));
+    }
+}
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.utils;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import javax.persistence.EntityManager;
+
+public class QueryCounter {
+
+    public static long countStatements(EntityManager em, Runnable action) {
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+        em.flush();
+        em.clear();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        try {
+            action.run();
+
+            return statistics.getPrepareStatementCount();
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+}